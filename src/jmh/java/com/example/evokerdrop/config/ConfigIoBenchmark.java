@@ -0,0 +1,61 @@
+package com.example.evokerdrop.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModConfig.load()/save() dengan config besar, ditulis ke file temp (tanpa FabricLoader)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigIoBenchmark {
+
+    @Param({"5", "100", "1000"})
+    public int mobCount;
+
+    @Param({"7"})
+    public int itemsPerMob;
+
+    private ModConfig config;
+    private File loadFile;
+    private File saveFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        config = SyntheticConfigs.create(mobCount, itemsPerMob);
+        loadFile = Files.createTempFile("evokerdrops-load", ".json").toFile();
+        saveFile = Files.createTempFile("evokerdrops-save", ".json").toFile();
+        config.save(loadFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(loadFile.toPath());
+        Files.deleteIfExists(saveFile.toPath());
+    }
+
+    @Benchmark
+    public ModConfig load() {
+        return ModConfig.load(loadFile);
+    }
+
+    @Benchmark
+    public File save() {
+        config.save(saveFile);
+        return saveFile;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.evokerdrop.config;
+
+/**
+ * Generator config sintetis untuk benchmark
+ */
+public final class SyntheticConfigs {
+    public static final String NAMESPACE = "bench";
+
+    private static final String[] ITEM_IDS = {
+            "minecraft:diamond", "minecraft:emerald", "minecraft:gold_ingot", "minecraft:iron_ingot",
+            "minecraft:totem_of_undying", "minecraft:experience_bottle", "minecraft:ender_pearl",
+            "minecraft:blaze_rod", "minecraft:netherite_scrap", "minecraft:golden_apple"
+    };
+
+    private SyntheticConfigs() {
+    }
+
+    /**
+     * Mob id ke-i, loot table-nya bench:entities/mob_i
+     */
+    public static String mobId(int i) {
+        return NAMESPACE + ":mob_" + i;
+    }
+
+    /**
+     * Config dengan mobCount mob, masing-masing itemsPerMob item dengan chance dan count bervariasi
+     */
+    public static ModConfig create(int mobCount, int itemsPerMob) {
+        ModConfig config = new ModConfig();
+        for (int i = 0; i < mobCount; i++) {
+            config.mobConfigs.add(createMob(mobId(i), itemsPerMob, i));
+        }
+        return config;
+    }
+
+    public static ModConfig.MobDropConfig createMob(String mobId, int itemsPerMob, int seed) {
+        ModConfig.MobDropConfig mob = new ModConfig.MobDropConfig();
+        mob.mobId = mobId;
+        for (int j = 0; j < itemsPerMob; j++) {
+            ModConfig.ItemDropConfig item = new ModConfig.ItemDropConfig();
+            item.itemId = ITEM_IDS[(seed + j) % ITEM_IDS.length];
+            item.minCount = 1;
+            item.maxCount = 1 + (j % 4);
+            item.dropChance = j == 0 ? 1.0f : 0.05f + 0.1f * (j % 9);
+            item.applyLooting = (j & 1) == 0;
+            mob.itemDrops.add(item);
+        }
+        return mob;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import com.example.evokerdrop.config.ModConfig;
+import com.example.evokerdrop.config.SyntheticConfigs;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.BuiltinRegistries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Roll drop untuk satu kill (jalur yang dipakai RuntimeDropEngine dan DropGroupEntry).
+ * Varian budget mengukur jalur acquire yang berhasil: kapasitas jauh di atas jumlah
+ * invocation, chunk key diputar dari pool, dan budget dibuat ulang setiap iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DropRollBenchmark {
+
+    @Param({"1", "7", "12"})
+    public int itemsPerMob;
+
+    @Param({"false", "true"})
+    public boolean dropGroup;
+
+    // 0 = tanpa budget, 1000000 = budget yang tidak pernah habis selama satu iteration
+    @Param({"0", "1000000"})
+    public int budgetPerMinute;
+
+    @Param({"0", "3"})
+    public int lootingLevel;
+
+    // Satu bucket per chunk key, supaya lookup bucket ikut terukur
+    private static final int CONTEXT_POOL_SIZE = 1024;
+
+    private ModConfig config;
+    private RegistryWrapper.WrapperLookup registries;
+    private CompiledMobDrops mobDrops;
+    private ResolvedRegistries resolved;
+    private Random random;
+    private DropContext[] contexts;
+    private int nextContext;
+    private Consumer<ItemStack> output;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        config = new ModConfig();
+        ModConfig.MobDropConfig mob = SyntheticConfigs.createMob("minecraft:evoker", itemsPerMob, 0);
+        mob.dropGroup = dropGroup;
+        mob.budgetPerMinute = budgetPerMinute;
+        config.mobConfigs.add(mob);
+
+        registries = BuiltinRegistries.createWrapperLookup();
+        random = Random.create(42L);
+        contexts = new DropContext[CONTEXT_POOL_SIZE];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new DropContext(ChunkPos.toLong(i, 0), UUID.randomUUID(), null, BlockPos.ORIGIN);
+        }
+        output = blackhole::consume;
+    }
+
+    /**
+     * Index (dan budget-nya) baru per iteration, jadi bucket tidak terbawa antar iteration
+     */
+    @Setup(Level.Iteration)
+    public void compile() {
+        DropIndex index = ConfigSnapshot.of(config, 0L).getDropIndex();
+        mobDrops = index.getByEntity(Identifier.of("minecraft", "evoker"));
+        resolved = ResolvedRegistries.get(index, registries);
+    }
+
+    @Benchmark
+    public void rollKill() {
+        DropContext context = contexts[nextContext];
+        nextContext = (nextContext + 1) & (CONTEXT_POOL_SIZE - 1);
+        DropRoller.rollMob(mobDrops, resolved, random, lootingLevel, context, output);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import com.example.evokerdrop.config.ModConfig;
+import com.example.evokerdrop.config.SyntheticConfigs;
+import net.fabricmc.fabric.api.loot.v3.LootTableSource;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.loot.LootTable;
+import net.minecraft.registry.BuiltinRegistries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Satu pass callback LootTableEvents.MODIFY atas semua loot table key, seperti saat resource reload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LootTableModifyBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    public int keyCount;
+
+    @Param({"5", "50"})
+    public int configuredMobs;
+
+    private RegistryKey<LootTable>[] keys;
+    private RegistryWrapper.WrapperLookup registries;
+    private LootTableModifier modifier;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        registries = BuiltinRegistries.createWrapperLookup();
+
+        keys = new RegistryKey[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = RegistryKey.of(RegistryKeys.LOOT_TABLE, Identifier.of(SyntheticConfigs.NAMESPACE, "entities/mob_" + i));
+        }
+
+        // Mob yang dikonfigurasi tersebar rata di antara key
+        ModConfig config = new ModConfig();
+        int stride = Math.max(1, keyCount / configuredMobs);
+        for (int i = 0; i < configuredMobs; i++) {
+            config.mobConfigs.add(SyntheticConfigs.createMob(SyntheticConfigs.mobId(i * stride), 7, i));
+        }
+        DropIndex index = ConfigSnapshot.of(config, 0L).getDropIndex();
+        modifier = new LootTableModifier(() -> index);
+    }
+
+    @Benchmark
+    public void modifyAll(Blackhole blackhole) {
+        for (RegistryKey<LootTable> key : keys) {
+            LootTable.Builder builder = LootTable.builder();
+            modifier.modifyLootTable(key, builder, LootTableSource.VANILLA, registries);
+            blackhole.consume(builder);
+        }
+    }
+}
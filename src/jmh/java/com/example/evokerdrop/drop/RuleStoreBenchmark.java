@@ -0,0 +1,111 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import com.example.evokerdrop.config.ModConfig;
+import com.example.evokerdrop.config.SyntheticConfigs;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.BuiltinRegistries;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya per kill (lookup rule) dan per reload (compile + deteksi table berubah)
+ * terhadap jumlah rule mob. Lookup memakai overload yang dipakai produksi
+ * (EntityType / loot table id + registries, lewat tabel selector). Reload tetap
+ * linear terhadap jumlah rule: snapshot dan index dikompilasi ulang seluruhnya,
+ * dan deteksi table berubah membandingkan semua table di kedua index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RuleStoreBenchmark {
+    private static final int LOOKUP_KEYS = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int ruleCount;
+
+    private DropIndex index;
+    private EntityType<?>[] entityTypes;
+    private Identifier[] lootTableIds;
+    private int cursor;
+
+    private RegistryWrapper.WrapperLookup registries;
+    private ModConfig editedConfig;
+    private ConfigSnapshot current;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        registries = BuiltinRegistries.createWrapperLookup();
+
+        // Rule sintetis + rule mob vanilla (id persis dan selector), seperti config nyata
+        ModConfig config = SyntheticConfigs.create(ruleCount, 3);
+        config.mobConfigs.add(SyntheticConfigs.createMob("minecraft:evoker", 3, 0));
+        config.mobConfigs.add(SyntheticConfigs.createMob("@monster", 3, 1));
+        current = ConfigSnapshot.of(config, 0L);
+        index = current.getDropIndex();
+
+        // Kill tersebar di semua entity type, loot table di rule sintetis dan vanilla,
+        // urutan acak supaya tidak ramah cache
+        EntityType<?>[] allTypes = Registries.ENTITY_TYPE.stream().toArray(EntityType<?>[]::new);
+        entityTypes = new EntityType<?>[LOOKUP_KEYS];
+        lootTableIds = new Identifier[LOOKUP_KEYS];
+        Random random = new Random(42L);
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            entityTypes[i] = allTypes[random.nextInt(allTypes.length)];
+            lootTableIds[i] = (i & 1) == 0
+                    ? Identifier.of(SyntheticConfigs.NAMESPACE, "entities/mob_" + random.nextInt(ruleCount))
+                    : DropIndex.toLootTableId(Registries.ENTITY_TYPE.getId(entityTypes[i]).toString());
+        }
+        // Tabel selector dibangun sekali per registries, sama seperti setelah reload pertama di server
+        index.getByEntity(entityTypes[0], registries);
+
+        // Reload yang hanya mengubah satu rule (kasus edit GUI / hot reload)
+        editedConfig = config.copy();
+        editedConfig.mobConfigs.get(ruleCount / 2).itemDrops.get(0).dropChance = 0.42f;
+    }
+
+    /**
+     * Jalur RuntimeDropEngine saat mob mati
+     */
+    @Benchmark
+    public CompiledMobDrops killLookup() {
+        return index.getByEntity(entityTypes[cursor++ & (LOOKUP_KEYS - 1)], registries);
+    }
+
+    /**
+     * Jalur LootTableModifier / DropGroupEntry
+     */
+    @Benchmark
+    public CompiledMobDrops lootTableLookup() {
+        return index.get(lootTableIds[cursor++ & (LOOKUP_KEYS - 1)], registries);
+    }
+
+    /**
+     * Reload penuh dengan satu rule berubah: compile snapshot + index, lalu cari table yang
+     * berubah. Linear terhadap ruleCount; yang sebanding dengan jumlah perubahan hanya patch table.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Set<Identifier> reloadOneChange() {
+        ConfigSnapshot next = ConfigSnapshot.of(editedConfig, current.getVersion() + 1);
+        return LootTablePatcher.findChangedTables(current.getDropIndex(), next.getDropIndex(), registries);
+    }
+}
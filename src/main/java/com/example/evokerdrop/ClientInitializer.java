@@ -1,5 +1,6 @@
 package com.example.evokerdrop;
 
+import com.example.evokerdrop.config.ConfigPersistence;
 import com.example.evokerdrop.keybind.KeybindHandler;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
@@ -16,5 +17,8 @@ public class ClientInitializer implements ClientModInitializer {
         ClientLifecycleEvents.CLIENT_STARTED.register(client -> {
             EvokerDropsMod.LOGGER.info("Client started, config reload support enabled");
         });
+
+        // Save dari GUI yang masih di-debounce harus tertulis sebelum game keluar
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> ConfigPersistence.flush());
     }
 }
\ No newline at end of file
@@ -1,212 +1,155 @@
 package com.example.evokerdrop;
 
+import com.example.evokerdrop.config.ConfigCache;
+import com.example.evokerdrop.config.ConfigFileWatcher;
+import com.example.evokerdrop.config.ConfigSnapshot;
 import com.example.evokerdrop.config.ModConfig;
+import com.example.evokerdrop.drop.DropGroupEntry;
+import com.example.evokerdrop.drop.DropIndex;
+import com.example.evokerdrop.drop.DropMetrics;
+import com.example.evokerdrop.drop.LootTableModifier;
+import com.example.evokerdrop.drop.LootTablePatcher;
+import com.example.evokerdrop.drop.RecordDropLootFunction;
+import com.example.evokerdrop.drop.RuntimeDropEngine;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.loot.v3.LootTableEvents;
-import net.minecraft.item.Item;
-import net.minecraft.item.Items;
-import net.minecraft.loot.LootPool;
-import net.minecraft.loot.condition.KilledByPlayerLootCondition;
-import net.minecraft.loot.condition.RandomChanceLootCondition;
-import net.minecraft.loot.entry.ItemEntry;
-import net.minecraft.loot.function.ApplyBonusLootFunction;
-import net.minecraft.loot.function.SetCountLootFunction;
-import net.minecraft.loot.provider.number.ConstantLootNumberProvider;
-import net.minecraft.loot.provider.number.UniformLootNumberProvider;
-import net.minecraft.enchantment.Enchantment;
-import net.minecraft.enchantment.Enchantments;
-import net.minecraft.registry.Registries;
-import net.minecraft.registry.RegistryKey;
-import net.minecraft.registry.RegistryKeys;
-import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.Identifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class EvokerDropsMod implements ModInitializer {
     public static final String MOD_ID = "evokerdrops";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
-    private static ModConfig config;
-    private static MinecraftServer currentServer = null;
-    private static long lastConfigUpdate = 0;
+    // Satu-satunya config yang dibaca thread lain; selalu diganti utuh, tidak pernah diubah
+    private static final AtomicReference<ConfigSnapshot> SNAPSHOT = new AtomicReference<>(ConfigSnapshot.EMPTY);
+    private static volatile MinecraftServer currentServer = null;
 
     @Override
     public void onInitialize() {
         LOGGER.info("Initializing Evoker Drops Mod");
 
-        config = ModConfig.load();
-        lastConfigUpdate = System.currentTimeMillis();
-        LOGGER.info("Configuration loaded with {} mob(s) configured", config.mobConfigs.size());
+        // Startup lewat cache biner kalau evokerdrops.json dan daftar mod tidak berubah
+        ConfigSnapshot snapshot = ConfigCache.loadSnapshot(ModConfig.getConfigFile(), 1L);
+        SNAPSHOT.set(snapshot);
+        LOGGER.info("Configuration loaded with {} mob(s) configured", snapshot.getMobs().size());
 
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
             currentServer = server;
+            ConfigFileWatcher.setEnabled(server, getSnapshot().isWatchConfigFile());
             LOGGER.info("Server started, tracking for config reloads");
         });
 
         ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
             currentServer = null;
+            ConfigFileWatcher.stop();
+            LootTablePatcher.clearPatches();
         });
 
-        LootTableEvents.MODIFY.register((key, tableBuilder, source, registries) -> {
-            ModConfig currentConfig = getConfig();
-
-            for (ModConfig.MobDropConfig mobConfig : currentConfig.mobConfigs) {
-                if (!mobConfig.enabled) {
-                    continue;
-                }
-
-                Identifier mobLootTableId;
-                try {
-                    String[] parts = mobConfig.mobId.split(":");
-                    if (parts.length == 2) {
-                        mobLootTableId = Identifier.of(parts[0], "entities/" + parts[1]);
-                    } else {
-                        mobLootTableId = Identifier.of("minecraft", "entities/" + mobConfig.mobId);
-                    }
-                } catch (Exception e) {
-                    LOGGER.error("Invalid mob ID: {}", mobConfig.mobId, e);
-                    continue;
-                }
-
-                if (mobLootTableId.equals(key.getValue())) {
-                    LOGGER.debug("Modifying loot table for: {}", mobConfig.mobId);
-
-                    // FIXED: Get looting enchantment untuk MC 1.21.2 Fabric
-                    RegistryEntry<Enchantment> lootingEnchantment = null;
-                    try {
-                        // Gunakan registries.getOrThrow untuk mendapatkan wrapper
-                        var enchantmentWrapper = registries.getOrThrow(RegistryKeys.ENCHANTMENT);
-
-                        RegistryKey<Enchantment> lootingKey = RegistryKey.of(
-                                RegistryKeys.ENCHANTMENT,
-                                Identifier.of("minecraft", "looting")
-                        );
-
-                        // Gunakan getOptional untuk get enchantment dari wrapper
-                        Optional<RegistryEntry.Reference<Enchantment>> lootingOpt =
-                                enchantmentWrapper.getOptional(lootingKey);
-
-                        if (lootingOpt.isPresent()) {
-                            lootingEnchantment = lootingOpt.get();
-                            LOGGER.debug("Successfully retrieved Looting enchantment for mob: {}", mobConfig.mobId);
-                        } else {
-                            LOGGER.warn("Looting enchantment not found in registry for mob: {}", mobConfig.mobId);
-                        }
-                    } catch (Exception e) {
-                        LOGGER.warn("Could not get Looting enchantment from registry: {}", e.getMessage());
-                        LOGGER.warn("Looting enchantment will not be applied to drops for mob: {}", mobConfig.mobId);
-                    }
-
-                    for (ModConfig.ItemDropConfig itemDrop : mobConfig.itemDrops) {
-                        if (!itemDrop.enabled) {
-                            continue;
-                        }
-
-                        Item item;
-                        try {
-                            Identifier itemId = Identifier.tryParse(itemDrop.itemId);
-                            if (itemId == null) {
-                                LOGGER.error("Invalid item ID: {}", itemDrop.itemId);
-                                continue;
-                            }
-
-                            item = Registries.ITEM.get(itemId);
-                            if (item == null || item == Items.AIR) {
-                                LOGGER.error("Item not found: {}", itemDrop.itemId);
-                                continue;
-                            }
-                        } catch (Exception e) {
-                            LOGGER.error("Error getting item: {}", itemDrop.itemId, e);
-                            continue;
-                        }
-
-                        LootPool.Builder poolBuilder = LootPool.builder()
-                                .rolls(ConstantLootNumberProvider.create(1));
-
-                        ItemEntry.Builder<?> itemEntryBuilder = ItemEntry.builder(item);
-
-                        if (itemDrop.minCount != itemDrop.maxCount) {
-                            itemEntryBuilder.apply(SetCountLootFunction.builder(
-                                    UniformLootNumberProvider.create(
-                                            (float) itemDrop.minCount,
-                                            (float) itemDrop.maxCount
-                                    )
-                            ));
-                        } else if (itemDrop.minCount > 1) {
-                            itemEntryBuilder.apply(SetCountLootFunction.builder(
-                                    ConstantLootNumberProvider.create((float) itemDrop.minCount)
-                            ));
-                        }
-
-                        if (itemDrop.applyLooting && lootingEnchantment != null) {
-                            try {
-                                itemEntryBuilder.apply(
-                                        ApplyBonusLootFunction.uniformBonusCount(lootingEnchantment, 1)
-                                );
-                                LOGGER.debug("Applied looting enchantment to item: {}", itemDrop.itemId);
-                            } catch (Exception e) {
-                                LOGGER.warn("Could not apply looting enchantment to {}: {}",
-                                        itemDrop.itemId, e.getMessage());
-                            }
-                        }
-
-                        poolBuilder.with(itemEntryBuilder);
-                        poolBuilder.conditionally(KilledByPlayerLootCondition.builder());
-
-                        if (itemDrop.dropChance < 1.0f) {
-                            poolBuilder.conditionally(
-                                    RandomChanceLootCondition.builder(itemDrop.dropChance)
-                            );
-                        }
-
-                        tableBuilder.pool(poolBuilder);
-                        LOGGER.debug("  Added drop: {} x{}-{} ({}% chance) with Looting: {}",
-                                itemDrop.itemId,
-                                itemDrop.minCount,
-                                itemDrop.maxCount,
-                                Math.round(itemDrop.dropChance * 100),
-                                itemDrop.applyLooting);
-                    }
-                }
+        // Setelah /reload semua loot table sudah fresh dari MODIFY, overlay patch tidak dipakai lagi
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                LootTablePatcher.clearPatches();
             }
+            // Tag entity type bisa berubah, selector di-resolve ulang saat dipakai
+            DropIndex.invalidateSelectors();
         });
 
+        DropGroupEntry.register();
+        RecordDropLootFunction.register();
+        RuntimeDropEngine.register();
+        DropMetrics.register();
+
+        LootTableEvents.MODIFY.register(new LootTableModifier(EvokerDropsMod::getDropIndex));
+
         LOGGER.info("Evoker Drops Mod initialized successfully");
     }
 
-    public static ModConfig getConfig() {
-        return config;
+    /**
+     * Config aktif, aman dibaca dari thread mana pun tanpa copy()
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return SNAPSHOT.get();
+    }
+
+    public static DropIndex getDropIndex() {
+        return SNAPSHOT.get().getDropIndex();
     }
 
     public static void reloadConfig() {
         LOGGER.info("Reloading configuration...");
-        ModConfig oldConfig = config;
-        config = ModConfig.load();
-        lastConfigUpdate = System.currentTimeMillis();
+        // Checksum file yang dibaca tidak dicatat, perubahan berikutnya pasti di-reload watcher.
+        // Kalau load() menulis file default, save() mencatat checksum-nya lagi.
+        ConfigFileWatcher.setActiveChecksum(-1L);
+        applyConfig(ModConfig.load());
+    }
 
-        if (oldConfig != null) {
-            LOGGER.info("Config updated: {} mob(s) -> {} mob(s)",
-                    oldConfig.mobConfigs.size(), config.mobConfigs.size());
+    /**
+     * Pasang config yang sudah dibaca/divalidasi dan terapkan ke loot table atau runtime engine.
+     * Aman dipanggil dari thread mana pun, perubahan loot table dijalankan di server thread.
+     */
+    public static synchronized void applyConfig(ModConfig newConfig) {
+        // synchronized hanya untuk writer (version berurutan), reader cukup SNAPSHOT.get()
+        ConfigSnapshot oldSnapshot = SNAPSHOT.get();
+        ConfigSnapshot snapshot = ConfigSnapshot.of(newConfig, oldSnapshot.getVersion() + 1);
+        SNAPSHOT.set(snapshot);
+        DropIndex oldIndex = oldSnapshot.getDropIndex();
+        DropIndex dropIndex = snapshot.getDropIndex();
+
+        // Dibaca sekali: server bisa berhenti di thread lain selama method ini jalan
+        MinecraftServer server = currentServer;
+        if (server != null) {
+            ConfigFileWatcher.setEnabled(server, snapshot.isWatchConfigFile());
+        }
 
-            for (ModConfig.MobDropConfig mobConfig : config.mobConfigs) {
-                LOGGER.debug("Mob: {} with {} item drops", mobConfig.mobId, mobConfig.itemDrops.size());
-            }
+        LOGGER.info("Config updated to v{}: {} mob(s) -> {} mob(s)", snapshot.getVersion(),
+                oldSnapshot.getMobs().size(), snapshot.getMobs().size());
+        for (ConfigSnapshot.MobRule mobRule : snapshot.getMobs()) {
+            LOGGER.debug("Mob: {} with {} item drops", mobRule.mobId(), mobRule.itemDrops().size());
         }
 
-        if (currentServer != null) {
+        // Engine runtime membaca dropIndex saat mob mati, jadi swap di atas sudah cukup
+        if (oldIndex.getEngine() == ModConfig.DropEngine.RUNTIME
+                && dropIndex.getEngine() == ModConfig.DropEngine.RUNTIME) {
+            LOGGER.info("§a[Evoker Drops] Runtime drop rules swapped, no resource reload needed");
+            return;
+        }
+
+        if (server != null && oldIndex.getEngine() == dropIndex.getEngine()) {
+            // Engine sama: cukup bangun ulang loot table mob yang berubah
+            DropIndex newIndex = dropIndex;
+            Set<Identifier> changedTables = LootTablePatcher.findChangedTables(oldIndex, newIndex,
+                    server.getRegistryManager());
+
+            if (changedTables.isEmpty()) {
+                LOGGER.info("§a[Evoker Drops] No loot table changes detected");
+                return;
+            }
+
+            server.execute(() -> {
+                try {
+                    int patched = LootTablePatcher.patch(server, newIndex, changedTables);
+                    LOGGER.info("§a[Evoker Drops] Patched {} loot table(s), new drops are now active!", patched);
+                } catch (Exception e) {
+                    LOGGER.error("Failed to patch loot tables after config change", e);
+                    LOGGER.warn("§e[Evoker Drops] Incremental patch failed, use /reload for immediate effect");
+                }
+            });
+        } else if (server != null) {
+            // Engine berubah: pool lama harus dibuang lewat resource reload penuh
             try {
-                var resourcePackManager = currentServer.getDataPackManager();
+                var resourcePackManager = server.getDataPackManager();
                 var enabledPacks = resourcePackManager.getEnabledIds();
 
-                currentServer.execute(() -> {
+                server.execute(() -> {
                     try {
                         LOGGER.info("Starting server resource reload...");
-                        currentServer.reloadResources(enabledPacks)
+                        server.reloadResources(enabledPacks)
                                 .thenRun(() -> {
                                     LOGGER.info("§a[Evoker Drops] Server resources reloaded successfully!");
                                     LOGGER.info("§a[Evoker Drops] New drops are now active!");
@@ -225,12 +168,12 @@ public class EvokerDropsMod implements ModInitializer {
                 LOGGER.info("§e[Evoker Drops] Config saved! Changes will apply to newly spawned mobs.");
             }
         } else {
-            LOGGER.info("§a[Evoker Drops] Config reloaded with {} mob(s)", config.mobConfigs.size());
+            LOGGER.info("§a[Evoker Drops] Config reloaded with {} mob(s)", snapshot.getMobs().size());
             LOGGER.info("§7Server not available - changes will apply when server starts");
         }
     }
 
     public static long getLastConfigUpdate() {
-        return lastConfigUpdate;
+        return SNAPSHOT.get().getCreatedAt();
     }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.example.evokerdrop;
 
 import com.example.evokerdrop.config.ClothConfigScreen;
-import com.example.evokerdrop.config.ModConfig;
 import com.terraformersmc.modmenu.api.ConfigScreenFactory;
 import com.terraformersmc.modmenu.api.ModMenuApi;
 
@@ -9,6 +8,6 @@ public class ModMenuIntegration implements ModMenuApi {
 
     @Override
     public ConfigScreenFactory<?> getModConfigScreenFactory() {
-        return parent -> ClothConfigScreen.createConfigScreen(parent, EvokerDropsMod.getConfig());
+        return parent -> ClothConfigScreen.createConfigScreen(parent, EvokerDropsMod.getSnapshot());
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.evokerdrop;
 
 import com.example.evokerdrop.command.ReloadCommand;
+import com.example.evokerdrop.command.StatsCommand;
 import net.fabricmc.api.DedicatedServerModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 
@@ -8,9 +9,10 @@ public class ServerInitializer implements DedicatedServerModInitializer {
 
     @Override
     public void onInitializeServer() {
-        // Register reload command
+        // Register reload + stats command
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             ReloadCommand.register(dispatcher);
+            StatsCommand.register(dispatcher);
         });
     }
 }
\ No newline at end of file
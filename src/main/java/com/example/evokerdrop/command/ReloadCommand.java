@@ -21,9 +21,9 @@ public class ReloadCommand {
 
     private static int executeReload(CommandContext<ServerCommandSource> context) {
         try {
-            int mobCount = EvokerDropsMod.getConfig().mobConfigs.size();
+            int mobCount = EvokerDropsMod.getSnapshot().getMobs().size();
             EvokerDropsMod.reloadConfig();
-            int newMobCount = EvokerDropsMod.getConfig().mobConfigs.size();
+            int newMobCount = EvokerDropsMod.getSnapshot().getMobs().size();
 
             context.getSource().sendFeedback(
                     () -> Text.literal("§a[Evoker Drops] Configuration reloaded successfully!"),
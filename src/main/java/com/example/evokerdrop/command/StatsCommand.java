@@ -0,0 +1,88 @@
+package com.example.evokerdrop.command;
+
+import com.example.evokerdrop.drop.DropMetrics;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.command.CommandSource;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.util.List;
+
+public class StatsCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+                CommandManager.literal("evokerdrops")
+                        .then(CommandManager.literal("stats")
+                                .requires(source -> source.hasPermissionLevel(2))
+                                .executes(StatsCommand::executeSummary)
+                                // Greedy string: key selector (#tag, @group, modid:*) bukan Identifier valid
+                                .then(CommandManager.argument("mob", StringArgumentType.greedyString())
+                                        .suggests((context, builder) -> CommandSource.suggestMatching(
+                                                DropMetrics.getMobs().stream().map(DropMetrics.MobStats::getMobId), builder))
+                                        .executes(StatsCommand::executeMob)
+                                )
+                        )
+        );
+    }
+
+    private static int executeSummary(CommandContext<ServerCommandSource> context) {
+        List<DropMetrics.MobStats> mobs = DropMetrics.getMobs();
+        if (mobs.isEmpty()) {
+            context.getSource().sendFeedback(() -> Text.literal("§7[Evoker Drops] No drop stats recorded yet"), false);
+            return 0;
+        }
+
+        context.getSource().sendFeedback(() -> Text.literal("§a[Evoker Drops] Drop stats since server start:"), false);
+        for (DropMetrics.MobStats mob : mobs) {
+            long stacks = 0;
+            long items = 0;
+            for (DropMetrics.ItemStats item : mob.getItems()) {
+                stacks += item.getStacks();
+                items += item.getItemCount();
+            }
+            String line = "§e" + mob.getMobId() + "§7: " + mob.getKills() + " kill(s), "
+                    + stacks + " stack(s), " + items + " item(s)";
+            context.getSource().sendFeedback(() -> Text.literal(line), false);
+        }
+        return mobs.size();
+    }
+
+    private static int executeMob(CommandContext<ServerCommandSource> context) {
+        String mobId = StringArgumentType.getString(context, "mob").trim();
+        DropMetrics.MobStats mob = findMob(mobId);
+        if (mob == null) {
+            context.getSource().sendError(Text.literal("§c[Evoker Drops] No drop stats for " + mobId));
+            return 0;
+        }
+
+        long kills = mob.getKills();
+        context.getSource().sendFeedback(
+                () -> Text.literal("§a[Evoker Drops] " + mob.getMobId() + "§7: " + kills + " kill(s)"),
+                false
+        );
+        for (DropMetrics.ItemStats item : mob.getItems()) {
+            long rolled = item.getRolled();
+            long stacks = item.getStacks();
+            String rate = rolled > 0 ? String.format("%.1f%%", stacks * 100.0 / rolled) : "-";
+            String line = "§7  " + item.getItemId() + ": rolled " + rolled + ", dropped " + stacks
+                    + " stack(s) / " + item.getItemCount() + " item(s) (" + rate + ")";
+            context.getSource().sendFeedback(() -> Text.literal(line), false);
+        }
+        return 1;
+    }
+
+    /**
+     * Stats dengan key persis (id mob atau selector), "zombie" dicoba juga sebagai minecraft:zombie
+     */
+    private static DropMetrics.MobStats findMob(String mobId) {
+        DropMetrics.MobStats mob = DropMetrics.getMob(mobId);
+        if (mob == null && mobId.indexOf(':') < 0 && !mobId.startsWith("#") && !mobId.startsWith("@")) {
+            mob = DropMetrics.getMob("minecraft:" + mobId);
+        }
+        return mob;
+    }
+}
@@ -2,10 +2,12 @@ package com.example.evokerdrop.config;
 
 import com.example.evokerdrop.EvokerDropsMod;
 import com.example.evokerdrop.util.MinecraftRegistryHelper;
+import com.example.evokerdrop.util.RegistryIdIndex;
 import me.shedaniel.clothconfig2.api.AbstractConfigListEntry;
 import me.shedaniel.clothconfig2.api.ConfigBuilder;
 import me.shedaniel.clothconfig2.api.ConfigCategory;
 import me.shedaniel.clothconfig2.api.ConfigEntryBuilder;
+import me.shedaniel.clothconfig2.gui.AbstractConfigScreen;
 import me.shedaniel.clothconfig2.gui.entries.BaseListEntry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
@@ -16,50 +18,40 @@ import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.text.Text;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class ClothConfigScreen {
+    // Jumlah mob per halaman, supaya screen tetap ringan dengan ratusan rule
+    private static final int MOBS_PER_PAGE = 10;
 
-    private static List<ModConfig.MobDropConfig> workingMobConfigs;
-
-    public static Screen createConfigScreen(Screen parent, ModConfig config) {
-        // Create a working copy of the config
-        workingMobConfigs = new ArrayList<>();
-        for (ModConfig.MobDropConfig mob : config.mobConfigs) {
-            workingMobConfigs.add(mob.copy());
-        }
-
-        return buildConfigScreen(parent, config, false);
+    public static Screen createConfigScreen(Screen parent, ConfigSnapshot snapshot) {
+        // Working copy milik screen ini saja, snapshot yang aktif tidak pernah diubah
+        return buildConfigScreen(parent, snapshot.toModConfig(), false, 0);
     }
 
-    private static Screen buildConfigScreen(Screen parent, ModConfig config, boolean autoSave) {
+    private static Screen buildConfigScreen(Screen parent, ModConfig config, boolean autoSave, int requestedPage) {
+        List<ModConfig.MobDropConfig> workingMobConfigs = config.mobConfigs;
+        int pageCount = Math.max(1, (workingMobConfigs.size() + MOBS_PER_PAGE - 1) / MOBS_PER_PAGE);
+        int page = Math.max(0, Math.min(requestedPage, pageCount - 1));
+        int pageStart = page * MOBS_PER_PAGE;
+        int pageEnd = Math.min(workingMobConfigs.size(), pageStart + MOBS_PER_PAGE);
+
         // Auto-save jika dipanggil dari instant add/remove
         if (autoSave) {
-            config.mobConfigs.clear();
-            for (ModConfig.MobDropConfig mob : workingMobConfigs) {
-                config.mobConfigs.add(mob.copy());
-            }
-            config.save();
-            EvokerDropsMod.reloadConfig();
-            EvokerDropsMod.LOGGER.info("Auto-saved configuration with {} mob(s)", config.mobConfigs.size());
+            // Write + reload di background, klik beruntun digabung jadi satu
+            ConfigPersistence.requestSave(config);
+            EvokerDropsMod.LOGGER.debug("Queued auto-save with {} mob(s)", config.mobConfigs.size());
         }
 
         ConfigBuilder builder = ConfigBuilder.create()
                 .setParentScreen(parent)
                 .setTitle(Text.literal("Mob Drop Everything Configuration"))
                 .setSavingRunnable(() -> {
-                    // Update the actual config with working copy
-                    config.mobConfigs.clear();
-                    for (ModConfig.MobDropConfig mob : workingMobConfigs) {
-                        config.mobConfigs.add(mob.copy());
-                    }
-                    config.save();
-
-                    // Trigger immediate reload di client dan server
-                    EvokerDropsMod.reloadConfig();
+                    // Save + reload di background supaya render thread tidak tersendat
+                    ConfigPersistence.requestSave(config);
 
                     // Silent reload tanpa command error message
                     MinecraftClient client = MinecraftClient.getInstance();
@@ -67,7 +59,7 @@ public class ClothConfigScreen {
                         EvokerDropsMod.LOGGER.info("Config saved in world, changes will apply immediately");
                     }
 
-                    EvokerDropsMod.LOGGER.info("Configuration saved and reloaded with {} mob(s)", config.mobConfigs.size());
+                    EvokerDropsMod.LOGGER.info("Configuration queued for save with {} mob(s)", config.mobConfigs.size());
                 });
 
         ConfigEntryBuilder entryBuilder = builder.entryBuilder();
@@ -78,125 +70,162 @@ public class ClothConfigScreen {
         ConfigCategory mobManagementCategory = builder.getOrCreateCategory(Text.literal("📋 Mob Management"));
 
         mobManagementCategory.addEntry(entryBuilder.startTextDescription(
-                Text.literal("§eManage which mobs will drop custom items. Maximum 5 mobs.")
+                Text.literal("§eManage which mobs will drop custom items. Add as many as you need.")
         ).build());
 
+        mobManagementCategory.addEntry(entryBuilder.startEnumSelector(
+                        Text.literal("⚙ Drop Engine"),
+                        ModConfig.DropEngine.class,
+                        config.dropEngine
+                )
+                .setDefaultValue(ModConfig.DropEngine.LOOT_TABLE)
+                .setTooltip(
+                        Text.literal("§eLOOT_TABLE: drops are added to mob loot tables (needs resource reload)"),
+                        Text.literal("§eRUNTIME: drops are rolled on death, changes apply instantly")
+                )
+                .setSaveConsumer(newValue -> config.dropEngine = newValue)
+                .build());
+
+        mobManagementCategory.addEntry(entryBuilder.startBooleanToggle(
+                        Text.literal("📦 Merge Drops Per Chunk"),
+                        config.coalesceDrops
+                )
+                .setDefaultValue(false)
+                .setTooltip(
+                        Text.literal("§eRUNTIME engine only: drops from kills in the same chunk and tick"),
+                        Text.literal("§eare merged into one stack per item (for mob farms)")
+                )
+                .setSaveConsumer(newValue -> config.coalesceDrops = newValue)
+                .build());
+
+        mobManagementCategory.addEntry(entryBuilder.startIntField(
+                        Text.literal("📊 Stats Dump Interval (minutes)"),
+                        config.statsDumpMinutes
+                )
+                .setDefaultValue(0)
+                .setMin(0)
+                .setTooltip(
+                        Text.literal("§eAppend drop stats to config/evokerdrops-stats.csv"),
+                        Text.literal("§eevery N minutes (0 = disabled)")
+                )
+                .setSaveConsumer(newValue -> config.statsDumpMinutes = newValue)
+                .build());
+
+        mobManagementCategory.addEntry(entryBuilder.startBooleanToggle(
+                        Text.literal("👁 Watch Config File"),
+                        config.watchConfigFile
+                )
+                .setDefaultValue(false)
+                .setTooltip(
+                        Text.literal("§eReload automatically when evokerdrops.json"),
+                        Text.literal("§eis changed outside the game (dedicated servers)")
+                )
+                .setSaveConsumer(newValue -> config.watchConfigFile = newValue)
+                .build());
+
         mobManagementCategory.addEntry(entryBuilder.startTextDescription(
-                Text.literal("§7Current mobs: §a" + workingMobConfigs.size() + "§7/§a5")
+                Text.literal("§7Current mobs: §a" + workingMobConfigs.size())
         ).build());
 
-        // Add Mob Section dengan TOMBOL CUSTOM
-        if (workingMobConfigs.size() < 5) {
-            mobManagementCategory.addEntry(entryBuilder.startTextDescription(
-                    Text.literal("§a━━━━━━━ Add New Mob ━━━━━━━")
-            ).build());
-
-            // Dropdown untuk select mob
-            List<String> availableMobs = MinecraftRegistryHelper.getAllMobIds();
-            List<String> mobDisplayNames = new ArrayList<>();
-            Map<String, String> displayNameToId = new HashMap<>();
-
-            for (String mobId : availableMobs) {
-                String displayName = formatMobName(mobId);
-                mobDisplayNames.add(displayName);
-                displayNameToId.put(displayName, mobId);
-            }
-
-            // Buat string field reference yang bisa di-track
-            final AbstractConfigListEntry<String> dropdownEntry = entryBuilder.startStringDropdownMenu(
-                            Text.literal("🔍 Select Mob (Type to search)"),
-                            ""
-                    )
-                    .setDefaultValue("")
-                    .setSelections(mobDisplayNames)
-                    .setSuggestionMode(true)
-                    .setTooltip(
-                            Text.literal("§eType to search for mobs"),
-                            Text.literal("§7Select a mob, then click 'ADD MOB' button below")
-                    )
-                    .build();
-
-            mobManagementCategory.addEntry(dropdownEntry);
-
-            // String field untuk custom mob ID
-            final AbstractConfigListEntry<String> customFieldEntry = entryBuilder.startStrField(
-                            Text.literal("Custom Mob ID (Optional)"),
-                            ""
-                    )
-                    .setDefaultValue("")
-                    .setTooltip(
-                            Text.literal("§eEnter full ID: modname:mob_name"),
-                            Text.literal("§7Example: minecraft:zombie")
-                    )
-                    .build();
-
-            mobManagementCategory.addEntry(customFieldEntry);
-
-            // CUSTOM BUTTON ENTRY untuk ADD MOB
-            mobManagementCategory.addEntry(new ButtonEntry(
-                    Text.literal("§a✚ ADD MOB"),
-                    button -> {
-                        // Coba ambil dari custom field dulu
-                        String mobId = customFieldEntry.getValue();
-
-                        // Kalau custom field kosong, coba dari dropdown
-                        if (mobId == null || mobId.isEmpty()) {
-                            String displayName = dropdownEntry.getValue();
-                            if (displayName != null && !displayName.isEmpty()) {
-                                mobId = displayNameToId.get(displayName);
-                            }
-                        }
+        // Lookup duplikat O(1), daftar mob bisa berisi ratusan rule
+        Set<String> configuredMobIds = new HashSet<>();
+        for (ModConfig.MobDropConfig mob : workingMobConfigs) {
+            configuredMobIds.add(mob.mobId);
+        }
 
-                        EvokerDropsMod.LOGGER.info("ADD MOB button clicked, mob ID: {}", mobId);
+        // Add Mob Section dengan TOMBOL CUSTOM
+        mobManagementCategory.addEntry(entryBuilder.startTextDescription(
+                Text.literal("§a━━━━━━━ Add New Mob ━━━━━━━")
+        ).build());
 
-                        if (mobId == null || mobId.isEmpty()) {
-                            EvokerDropsMod.LOGGER.warn("No mob ID selected or entered!");
-                            return;
+        // Dropdown untuk select mob
+        // Index di-cache oleh MinecraftRegistryHelper, tidak di-scan ulang setiap rebuild
+        RegistryIdIndex mobIdIndex = MinecraftRegistryHelper.getMobIndex();
+        RegistryIdIndex itemIdIndex = MinecraftRegistryHelper.getItemIndex();
+        List<String> mobDisplayNames = mobIdIndex.getDisplayNames();
+
+        // Buat string field reference yang bisa di-track
+        final AbstractConfigListEntry<String> dropdownEntry = entryBuilder.startStringDropdownMenu(
+                        Text.literal("🔍 Select Mob (Type to search)"),
+                        ""
+                )
+                .setDefaultValue("")
+                .setSelections(mobDisplayNames)
+                .setSuggestionMode(true)
+                .setTooltip(
+                        Text.literal("§eType to search for mobs"),
+                        Text.literal("§7Select a mob, then click 'ADD MOB' button below")
+                )
+                .build();
+
+        mobManagementCategory.addEntry(dropdownEntry);
+
+        // String field untuk custom mob ID
+        final AbstractConfigListEntry<String> customFieldEntry = entryBuilder.startStrField(
+                        Text.literal("Custom Mob ID (Optional)"),
+                        ""
+                )
+                .setDefaultValue("")
+                .setTooltip(
+                        Text.literal("§eEnter full ID: modname:mob_name"),
+                        Text.literal("§7Example: minecraft:zombie")
+                )
+                .build();
+
+        mobManagementCategory.addEntry(customFieldEntry);
+
+        // CUSTOM BUTTON ENTRY untuk ADD MOB
+        mobManagementCategory.addEntry(new ButtonEntry(
+                Text.literal("§a✚ ADD MOB"),
+                button -> {
+                    // Coba ambil dari custom field dulu
+                    String mobId = customFieldEntry.getValue();
+
+                    // Kalau custom field kosong, coba dari dropdown
+                    if (mobId == null || mobId.isEmpty()) {
+                        String displayName = dropdownEntry.getValue();
+                        if (displayName != null && !displayName.isEmpty()) {
+                            mobId = mobIdIndex.getIdForDisplayName(displayName);
                         }
+                    }
 
-                        if (workingMobConfigs.size() >= 5) {
-                            EvokerDropsMod.LOGGER.warn("Maximum mob limit reached!");
-                            return;
-                        }
+                    EvokerDropsMod.LOGGER.info("ADD MOB button clicked, mob ID: {}", mobId);
 
-                        // Check if mob already exists
-                        boolean exists = false;
-                        for (ModConfig.MobDropConfig existing : workingMobConfigs) {
-                            if (existing.mobId.equals(mobId)) {
-                                exists = true;
-                                break;
-                            }
-                        }
-
-                        if (exists) {
-                            EvokerDropsMod.LOGGER.warn("Mob {} already exists!", mobId);
-                            return;
-                        }
+                    if (mobId == null || mobId.isEmpty()) {
+                        EvokerDropsMod.LOGGER.warn("No mob ID selected or entered!");
+                        return;
+                    }
 
-                        // Add new mob
-                        addNewMob(mobId);
-                        EvokerDropsMod.LOGGER.info("Successfully added mob: {}, total mobs: {}", mobId, workingMobConfigs.size());
+                    // Check if mob already exists
+                    if (configuredMobIds.contains(mobId)) {
+                        EvokerDropsMod.LOGGER.warn("Mob {} already exists!", mobId);
+                        return;
+                    }
 
-                        // INSTANT RELOAD dengan AUTO-SAVE
-                        MinecraftClient client = MinecraftClient.getInstance();
-                        client.execute(() -> {
-                            EvokerDropsMod.LOGGER.info("Reloading config screen with {} mobs...", workingMobConfigs.size());
-                            Screen newScreen = buildConfigScreen(parent, config, true); // Auto-save = true
-                            client.setScreen(newScreen);
-                        });
-                    },
-                    Text.literal("§eClick to add the selected mob immediately!"),
-                    Text.literal("§7Changes are saved automatically")
-            ));
+                    // Add new mob
+                    addNewMob(workingMobConfigs, configuredMobIds, mobId);
+                    EvokerDropsMod.LOGGER.info("Successfully added mob: {}, total mobs: {}", mobId, workingMobConfigs.size());
 
-        } else {
-            mobManagementCategory.addEntry(entryBuilder.startTextDescription(
-                    Text.literal("§c⚠ Maximum mob limit reached (5/5)")
-            ).build());
+                    // INSTANT RELOAD dengan AUTO-SAVE
+                    MinecraftClient client = MinecraftClient.getInstance();
+                    client.execute(() -> {
+                        EvokerDropsMod.LOGGER.info("Reloading config screen with {} mobs...", workingMobConfigs.size());
+                        // Langsung ke halaman terakhir, tempat mob baru muncul
+                        Screen newScreen = buildConfigScreen(parent, config, true, Integer.MAX_VALUE); // Auto-save = true
+                        client.setScreen(newScreen);
+                    });
+                },
+                Text.literal("§eClick to add the selected mob immediately!"),
+                Text.literal("§7Changes are saved automatically")
+        ));
+
+
+        if (pageCount > 1) {
+            addPageControls(mobManagementCategory, entryBuilder, parent, config, page, pageCount);
         }
 
-        // Display existing mobs
-        for (int i = 0; i < workingMobConfigs.size(); i++) {
+        // Display existing mobs (halaman ini saja)
+        for (int i = pageStart; i < pageEnd; i++) {
             final int mobIndex = i;
             ModConfig.MobDropConfig mobConfig = workingMobConfigs.get(mobIndex);
 
@@ -241,7 +270,7 @@ public class ClothConfigScreen {
                             MinecraftClient client = MinecraftClient.getInstance();
                             client.execute(() -> {
                                 EvokerDropsMod.LOGGER.info("Reloading config screen after mob removal...");
-                                Screen newScreen = buildConfigScreen(parent, config, true); // Auto-save = true
+                                Screen newScreen = buildConfigScreen(parent, config, true, page); // Auto-save = true
                                 client.setScreen(newScreen);
                             });
                         }
@@ -251,8 +280,8 @@ public class ClothConfigScreen {
             ));
         }
 
-        // ========== MOB CONFIGURATION CATEGORIES ==========
-        for (int mobIdx = 0; mobIdx < workingMobConfigs.size(); mobIdx++) {
+        // ========== MOB CONFIGURATION CATEGORIES (halaman ini saja) ==========
+        for (int mobIdx = pageStart; mobIdx < pageEnd; mobIdx++) {
             final int mobIndex = mobIdx;
             ModConfig.MobDropConfig mobConfig = workingMobConfigs.get(mobIndex);
 
@@ -265,15 +294,7 @@ public class ClothConfigScreen {
             ).build());
 
             // Dropdown untuk update Mob ID
-            List<String> availableMobsForChange = MinecraftRegistryHelper.getAllMobIds();
-            List<String> mobDisplayNamesForChange = new ArrayList<>();
-            Map<String, String> mobDisplayNameToId = new HashMap<>();
-
-            for (String mobId : availableMobsForChange) {
-                String displayName = formatMobName(mobId);
-                mobDisplayNamesForChange.add(displayName);
-                mobDisplayNameToId.put(displayName, mobId);
-            }
+            List<String> mobDisplayNamesForChange = mobIdIndex.getDisplayNames();
 
             String currentMobDisplayName = formatMobName(mobConfig.mobId);
 
@@ -292,7 +313,7 @@ public class ClothConfigScreen {
                             )
                             .setSaveConsumer(displayName -> {
                                 if (mobIndex < workingMobConfigs.size()) {
-                                    String newMobId = mobDisplayNameToId.get(displayName);
+                                    String newMobId = mobIdIndex.getIdForDisplayName(displayName);
                                     if (newMobId != null) {
                                         workingMobConfigs.get(mobIndex).mobId = newMobId;
                                         EvokerDropsMod.LOGGER.info("Changed mob to: {} ({})", displayName, newMobId);
@@ -305,6 +326,72 @@ public class ClothConfigScreen {
                             .build()
             );
 
+            // Drop group: semua item di-roll sekaligus dalam satu pool
+            mobCategory.addEntry(entryBuilder.startBooleanToggle(
+                            Text.literal("🎲 Roll Drops As One Group"),
+                            mobConfig.dropGroup
+                    )
+                    .setDefaultValue(false)
+                    .setTooltip(
+                            Text.literal("§eAll item drops share one pool and one roll per kill"),
+                            Text.literal("§7Chances stay independent, but are sampled together")
+                    )
+                    .setSaveConsumer(newValue -> {
+                        if (mobIndex < workingMobConfigs.size()) {
+                            workingMobConfigs.get(mobIndex).dropGroup = newValue;
+                        }
+                    })
+                    .build());
+
+            // Drop langsung masuk inventory player (engine RUNTIME)
+            mobCategory.addEntry(entryBuilder.startBooleanToggle(
+                            Text.literal("🎒 Deliver To Killer's Inventory"),
+                            mobConfig.deliverToInventory
+                    )
+                    .setDefaultValue(false)
+                    .setTooltip(
+                            Text.literal("§eRUNTIME engine only: drops go straight into the player's inventory"),
+                            Text.literal("§7Items that don't fit are dropped on the ground")
+                    )
+                    .setSaveConsumer(newValue -> {
+                        if (mobIndex < workingMobConfigs.size()) {
+                            workingMobConfigs.get(mobIndex).deliverToInventory = newValue;
+                        }
+                    })
+                    .build());
+
+            // Budget kill per menit untuk mob ini
+            mobCategory.addEntry(entryBuilder.startIntField(
+                            Text.literal("⏱ Drop Budget (kills/minute)"),
+                            mobConfig.budgetPerMinute
+                    )
+                    .setDefaultValue(0)
+                    .setMin(0)
+                    .setTooltip(
+                            Text.literal("§eMaximum kills per minute that produce custom drops"),
+                            Text.literal("§70 = unlimited")
+                    )
+                    .setSaveConsumer(newValue -> {
+                        if (mobIndex < workingMobConfigs.size()) {
+                            workingMobConfigs.get(mobIndex).budgetPerMinute = newValue;
+                        }
+                    })
+                    .build());
+
+            mobCategory.addEntry(entryBuilder.startEnumSelector(
+                            Text.literal("⏱ Budget Scope"),
+                            ModConfig.BudgetScope.class,
+                            mobConfig.budgetScope
+                    )
+                    .setDefaultValue(ModConfig.BudgetScope.CHUNK)
+                    .setTooltip(Text.literal("Count the budget per chunk or per killing player"))
+                    .setSaveConsumer(newValue -> {
+                        if (mobIndex < workingMobConfigs.size()) {
+                            workingMobConfigs.get(mobIndex).budgetScope = newValue;
+                        }
+                    })
+                    .build());
+
             mobCategory.addEntry(entryBuilder.startTextDescription(
                     Text.literal("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━")
             ).build());
@@ -314,101 +401,86 @@ public class ClothConfigScreen {
             ).build());
 
             mobCategory.addEntry(entryBuilder.startTextDescription(
-                    Text.literal("§7Items: §a" + mobConfig.itemDrops.size() + "§7/§a7")
+                    Text.literal("§7Items: §a" + mobConfig.itemDrops.size())
             ).build());
 
             // Add Item Section dengan TOMBOL CUSTOM
-            if (mobConfig.itemDrops.size() < 7) {
-                mobCategory.addEntry(entryBuilder.startTextDescription(
-                        Text.literal("§a━━━━━━━ Add New Item ━━━━━━━")
-                ).build());
+            mobCategory.addEntry(entryBuilder.startTextDescription(
+                    Text.literal("§a━━━━━━━ Add New Item ━━━━━━━")
+            ).build());
 
-                // Dropdown untuk select item
-                List<String> availableItems = MinecraftRegistryHelper.getAllItemIds();
-                List<String> itemDisplayNames = new ArrayList<>();
-                Map<String, String> itemDisplayNameToId = new HashMap<>();
+            // Dropdown untuk select item
+            List<String> itemDisplayNames = itemIdIndex.getDisplayNames();
 
-                for (String itemId : availableItems) {
-                    String displayName = formatItemName(itemId);
-                    itemDisplayNames.add(displayName);
-                    itemDisplayNameToId.put(displayName, itemId);
-                }
+            // Buat dropdown entry reference
+            final AbstractConfigListEntry<String> itemDropdownEntry = entryBuilder.startStringDropdownMenu(
+                            Text.literal("🔍 Select Item (Type to search)"),
+                            ""
+                    )
+                    .setDefaultValue("")
+                    .setSelections(itemDisplayNames)
+                    .setSuggestionMode(true)
+                    .setTooltip(
+                            Text.literal("§eType to search for items"),
+                            Text.literal("§7Select an item, then click 'ADD ITEM' button below")
+                    )
+                    .build();
 
-                // Buat dropdown entry reference
-                final AbstractConfigListEntry<String> itemDropdownEntry = entryBuilder.startStringDropdownMenu(
-                                Text.literal("🔍 Select Item (Type to search)"),
-                                ""
-                        )
-                        .setDefaultValue("")
-                        .setSelections(itemDisplayNames)
-                        .setSuggestionMode(true)
-                        .setTooltip(
-                                Text.literal("§eType to search for items"),
-                                Text.literal("§7Select an item, then click 'ADD ITEM' button below")
-                        )
-                        .build();
+            mobCategory.addEntry(itemDropdownEntry);
 
-                mobCategory.addEntry(itemDropdownEntry);
+            // String field untuk custom item ID
+            final AbstractConfigListEntry<String> customItemFieldEntry = entryBuilder.startStrField(
+                            Text.literal("Custom Item ID (Optional)"),
+                            ""
+                    )
+                    .setDefaultValue("")
+                    .setTooltip(
+                            Text.literal("§eEnter full ID: modname:item_name"),
+                            Text.literal("§7Example: minecraft:diamond")
+                    )
+                    .build();
 
-                // String field untuk custom item ID
-                final AbstractConfigListEntry<String> customItemFieldEntry = entryBuilder.startStrField(
-                                Text.literal("Custom Item ID (Optional)"),
-                                ""
-                        )
-                        .setDefaultValue("")
-                        .setTooltip(
-                                Text.literal("§eEnter full ID: modname:item_name"),
-                                Text.literal("§7Example: minecraft:diamond")
-                        )
-                        .build();
+            mobCategory.addEntry(customItemFieldEntry);
 
-                mobCategory.addEntry(customItemFieldEntry);
+            // CUSTOM BUTTON ENTRY untuk ADD ITEM
+            mobCategory.addEntry(new ButtonEntry(
+                    Text.literal("§a✚ ADD ITEM"),
+                    button -> {
+                        // Coba ambil dari custom field dulu
+                        String itemId = customItemFieldEntry.getValue();
 
-                // CUSTOM BUTTON ENTRY untuk ADD ITEM
-                mobCategory.addEntry(new ButtonEntry(
-                        Text.literal("§a✚ ADD ITEM"),
-                        button -> {
-                            // Coba ambil dari custom field dulu
-                            String itemId = customItemFieldEntry.getValue();
-
-                            // Kalau custom field kosong, coba dari dropdown
-                            if (itemId == null || itemId.isEmpty()) {
-                                String displayName = itemDropdownEntry.getValue();
-                                if (displayName != null && !displayName.isEmpty()) {
-                                    itemId = itemDisplayNameToId.get(displayName);
-                                }
+                        // Kalau custom field kosong, coba dari dropdown
+                        if (itemId == null || itemId.isEmpty()) {
+                            String displayName = itemDropdownEntry.getValue();
+                            if (displayName != null && !displayName.isEmpty()) {
+                                itemId = itemIdIndex.getIdForDisplayName(displayName);
                             }
+                        }
 
-                            EvokerDropsMod.LOGGER.info("ADD ITEM button clicked for mob {}, item ID: {}",
-                                    mobConfig.mobId, itemId);
-
-                            if (itemId == null || itemId.isEmpty()) {
-                                EvokerDropsMod.LOGGER.warn("No item ID selected or entered!");
-                                return;
-                            }
+                        EvokerDropsMod.LOGGER.info("ADD ITEM button clicked for mob {}, item ID: {}",
+                                mobConfig.mobId, itemId);
 
-                            if (mobConfig.itemDrops.size() >= 7) {
-                                EvokerDropsMod.LOGGER.warn("Maximum item limit reached for mob {}!", mobConfig.mobId);
-                                return;
-                            }
+                        if (itemId == null || itemId.isEmpty()) {
+                            EvokerDropsMod.LOGGER.warn("No item ID selected or entered!");
+                            return;
+                        }
 
-                            // Add new item
-                            addNewItem(mobConfig, itemId);
-                            EvokerDropsMod.LOGGER.info("Successfully added item: {} to mob {}, total items: {}",
-                                    itemId, mobConfig.mobId, mobConfig.itemDrops.size());
+                        // Add new item
+                        addNewItem(mobConfig, itemId);
+                        EvokerDropsMod.LOGGER.info("Successfully added item: {} to mob {}, total items: {}",
+                                itemId, mobConfig.mobId, mobConfig.itemDrops.size());
 
-                            // INSTANT RELOAD dengan AUTO-SAVE
-                            MinecraftClient client = MinecraftClient.getInstance();
-                            client.execute(() -> {
-                                EvokerDropsMod.LOGGER.info("Reloading config screen with updated items...");
-                                Screen newScreen = buildConfigScreen(parent, config, true); // Auto-save = true
-                                client.setScreen(newScreen);
-                            });
-                        },
-                        Text.literal("§eClick to add the selected item immediately!"),
-                        Text.literal("§7Changes are saved automatically")
-                ));
-            }
+                        // INSTANT RELOAD dengan AUTO-SAVE
+                        MinecraftClient client = MinecraftClient.getInstance();
+                        client.execute(() -> {
+                            EvokerDropsMod.LOGGER.info("Reloading config screen with updated items...");
+                            Screen newScreen = buildConfigScreen(parent, config, true, page); // Auto-save = true
+                            client.setScreen(newScreen);
+                        });
+                    },
+                    Text.literal("§eClick to add the selected item immediately!"),
+                    Text.literal("§7Changes are saved automatically")
+            ));
 
             // Display items
             for (int itemIdx = 0; itemIdx < mobConfig.itemDrops.size(); itemIdx++) {
@@ -428,15 +500,7 @@ public class ClothConfigScreen {
                 ).build());
 
                 // Dropdown untuk update Item ID
-                List<String> availableItemsForChange = MinecraftRegistryHelper.getAllItemIds();
-                List<String> itemDisplayNamesForChange = new ArrayList<>();
-                Map<String, String> itemDisplayNameToIdForChange = new HashMap<>();
-
-                for (String itemId : availableItemsForChange) {
-                    String displayName = formatItemName(itemId);
-                    itemDisplayNamesForChange.add(displayName);
-                    itemDisplayNameToIdForChange.put(displayName, itemId);
-                }
+                List<String> itemDisplayNamesForChange = itemIdIndex.getDisplayNames();
 
                 String currentItemDisplayName = formatItemName(itemDrop.itemId);
 
@@ -456,7 +520,7 @@ public class ClothConfigScreen {
                                 .setSaveConsumer(displayName -> {
                                     if (mobIndex < workingMobConfigs.size() &&
                                             itemIndex < workingMobConfigs.get(mobIndex).itemDrops.size()) {
-                                        String newItemId = itemDisplayNameToIdForChange.get(displayName);
+                                        String newItemId = itemIdIndex.getIdForDisplayName(displayName);
                                         if (newItemId != null) {
                                             workingMobConfigs.get(mobIndex).itemDrops.get(itemIndex).itemId = newItemId;
                                             EvokerDropsMod.LOGGER.info("Changed item to: {} ({}) for mob {}",
@@ -551,6 +615,40 @@ public class ClothConfigScreen {
                         })
                         .build());
 
+                // Budget per menit untuk item ini
+                mobCategory.addEntry(entryBuilder.startIntField(
+                                Text.literal("  ⏱ Drop Budget (drops/minute)"),
+                                itemDrop.budgetPerMinute
+                        )
+                        .setDefaultValue(0)
+                        .setMin(0)
+                        .setTooltip(
+                                Text.literal("§eMaximum times this item can drop per minute"),
+                                Text.literal("§70 = unlimited")
+                        )
+                        .setSaveConsumer(newValue -> {
+                            if (mobIndex < workingMobConfigs.size() &&
+                                    itemIndex < workingMobConfigs.get(mobIndex).itemDrops.size()) {
+                                workingMobConfigs.get(mobIndex).itemDrops.get(itemIndex).budgetPerMinute = newValue;
+                            }
+                        })
+                        .build());
+
+                mobCategory.addEntry(entryBuilder.startEnumSelector(
+                                Text.literal("  ⏱ Budget Scope"),
+                                ModConfig.BudgetScope.class,
+                                itemDrop.budgetScope
+                        )
+                        .setDefaultValue(ModConfig.BudgetScope.CHUNK)
+                        .setTooltip(Text.literal("Count the budget per chunk or per killing player"))
+                        .setSaveConsumer(newValue -> {
+                            if (mobIndex < workingMobConfigs.size() &&
+                                    itemIndex < workingMobConfigs.get(mobIndex).itemDrops.size()) {
+                                workingMobConfigs.get(mobIndex).itemDrops.get(itemIndex).budgetScope = newValue;
+                            }
+                        })
+                        .build());
+
                 // TOMBOL REMOVE ITEM (Merah)
                 mobCategory.addEntry(new ButtonEntry(
                         Text.literal("§c✖ REMOVE ITEM"),
@@ -570,7 +668,7 @@ public class ClothConfigScreen {
                                 MinecraftClient client = MinecraftClient.getInstance();
                                 client.execute(() -> {
                                     EvokerDropsMod.LOGGER.info("Reloading config screen after item removal...");
-                                    Screen newScreen = buildConfigScreen(parent, config, true); // Auto-save = true
+                                    Screen newScreen = buildConfigScreen(parent, config, true, page); // Auto-save = true
                                     client.setScreen(newScreen);
                                 });
                             }
@@ -584,15 +682,49 @@ public class ClothConfigScreen {
         return builder.build();
     }
 
-    private static void addNewMob(String mobId) {
+    private static void addPageControls(ConfigCategory category, ConfigEntryBuilder entryBuilder, Screen parent,
+                                        ModConfig config, int page, int pageCount) {
+        category.addEntry(entryBuilder.startTextDescription(
+                Text.literal("§7━━━━━━━ Page §a" + (page + 1) + "§7/§a" + pageCount + " §7━━━━━━━")
+        ).build());
+
+        if (page > 0) {
+            category.addEntry(new ButtonEntry(
+                    Text.literal("§e◀ PREVIOUS PAGE"),
+                    button -> switchPage(parent, config, page - 1),
+                    Text.literal("§eShow the previous " + MOBS_PER_PAGE + " mobs"),
+                    Text.literal("§7Edits on this page are saved first")
+            ));
+        }
+        if (page < pageCount - 1) {
+            category.addEntry(new ButtonEntry(
+                    Text.literal("§eNEXT PAGE ▶"),
+                    button -> switchPage(parent, config, page + 1),
+                    Text.literal("§eShow the next " + MOBS_PER_PAGE + " mobs"),
+                    Text.literal("§7Edits on this page are saved first")
+            ));
+        }
+    }
+
+    private static void switchPage(Screen parent, ModConfig config, int page) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        client.execute(() -> {
+            // Simpan isi entry halaman ini dulu, entry-nya hilang setelah screen dibangun ulang
+            if (client.currentScreen instanceof AbstractConfigScreen configScreen) {
+                configScreen.saveAll(false);
+            }
+            client.setScreen(buildConfigScreen(parent, config, false, page));
+        });
+    }
+
+    private static void addNewMob(List<ModConfig.MobDropConfig> workingMobConfigs, Set<String> configuredMobIds,
+                                  String mobId) {
         if (mobId == null || mobId.isEmpty()) return;
 
         // Check if mob already exists
-        for (ModConfig.MobDropConfig existing : workingMobConfigs) {
-            if (existing.mobId.equals(mobId)) {
-                EvokerDropsMod.LOGGER.warn("Mob {} already exists", mobId);
-                return;
-            }
+        if (!configuredMobIds.add(mobId)) {
+            EvokerDropsMod.LOGGER.warn("Mob {} already exists", mobId);
+            return;
         }
 
         ModConfig.MobDropConfig newMob = new ModConfig.MobDropConfig();
@@ -605,7 +737,6 @@ public class ClothConfigScreen {
 
     private static void addNewItem(ModConfig.MobDropConfig mobConfig, String itemId) {
         if (itemId == null || itemId.isEmpty()) return;
-        if (mobConfig.itemDrops.size() >= 7) return;
 
         ModConfig.ItemDropConfig newItem = new ModConfig.ItemDropConfig();
         newItem.itemId = itemId;
@@ -617,22 +748,13 @@ public class ClothConfigScreen {
         mobConfig.itemDrops.add(newItem);
     }
 
+    // Harus sama dengan nama di RegistryIdIndex supaya nilai dropdown cocok
     private static String formatMobName(String mobId) {
-        if (mobId == null || mobId.isEmpty()) return "Unknown";
-        String[] parts = mobId.split(":");
-        if (parts.length == 2) {
-            return capitalizeWords(parts[1].replace("_", " "));
-        }
-        return capitalizeWords(mobId.replace("_", " "));
+        return MinecraftRegistryHelper.formatDisplayName(mobId);
     }
 
     private static String formatItemName(String itemId) {
-        if (itemId == null || itemId.isEmpty()) return "Unknown";
-        String[] parts = itemId.split(":");
-        if (parts.length == 2) {
-            return capitalizeWords(parts[1].replace("_", " "));
-        }
-        return capitalizeWords(itemId.replace("_", " "));
+        return MinecraftRegistryHelper.formatDisplayName(itemId);
     }
 
     private static String getMobName(String mobId) {
@@ -0,0 +1,274 @@
+package com.example.evokerdrop.config;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache biner dari rule yang sudah divalidasi (config/evokerdrops.cache).
+ * Kalau hash isi evokerdrops.json dan hash daftar mod masih sama, cache dibaca
+ * dan dipakai langsung tanpa parse JSON. Kalau tidak, JSON di-parse seperti biasa
+ * dan cache dibangun ulang di background.
+ */
+public final class ConfigCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-ConfigCache");
+    private static final String CACHE_FILE_NAME = "evokerdrops.cache";
+    private static final int MAGIC = 0x45564443; // "EVDC"
+    // Naikkan kalau layout biner atau urutan enum berubah
+    private static final int FORMAT_VERSION = 2;
+
+    private ConfigCache() {
+    }
+
+    /**
+     * Snapshot untuk file config ini, dari cache kalau masih valid
+     */
+    public static ConfigSnapshot loadSnapshot(File configFile, long version) {
+        Path jsonPath = configFile.toPath().toAbsolutePath();
+        byte[] content;
+        try {
+            content = Files.readAllBytes(jsonPath);
+        } catch (NoSuchFileException e) {
+            // Belum ada config: load() membuat file default
+            return ConfigSnapshot.of(ModConfig.load(configFile), version);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read {}, using defaults", jsonPath, e);
+            return ConfigSnapshot.of(new ModConfig(), version);
+        }
+
+        // Dengan layout shard, isi semua file mob ikut menentukan validitas cache
+        ShardedConfigStore shards = ShardedConfigStore.forConfigFile(configFile);
+        long jsonHash = shards.isEnabled() ? hash(content) * 31 + shards.contentHash() : hash(content);
+        long modsHash = modListHash();
+        Path cachePath = jsonPath.resolveSibling(CACHE_FILE_NAME);
+
+        ConfigSnapshot cached = readCache(cachePath, jsonHash, modsHash, version);
+        if (cached != null) {
+            LOGGER.info("Loaded {} mob rule(s) from compiled cache", cached.getMobs().size());
+            return cached;
+        }
+
+        ModConfig config;
+        try {
+            config = ModConfig.parse(content, configFile);
+        } catch (Exception e) {
+            LOGGER.error("Failed to load config, using defaults", e);
+            return ConfigSnapshot.of(new ModConfig(), version);
+        }
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(config, version);
+        LOGGER.info("Config loaded with {} mob(s), rebuilding compiled cache", snapshot.getMobs().size());
+        Util.getIoWorkerExecutor().execute(() -> writeCache(cachePath, jsonHash, modsHash, snapshot));
+        return snapshot;
+    }
+
+    private static ConfigSnapshot readCache(Path cachePath, long jsonHash, long modsHash, long version) {
+        if (!Files.exists(cachePath)) {
+            return null;
+        }
+
+        try {
+            // Dibaca ke heap, bukan di-mmap: mapping yang masih hidup sampai GC membuat
+            // Files.move(REPLACE_EXISTING) di writeCache gagal di Windows
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cachePath));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring cache with unknown format");
+                return null;
+            }
+            if (buffer.getLong() != jsonHash || buffer.getLong() != modsHash) {
+                LOGGER.debug("Cache is stale (config or mod list changed)");
+                return null;
+            }
+            return decode(buffer, version);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable config cache {}: {}", cachePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ConfigSnapshot decode(ByteBuffer buffer, long version) {
+        ModConfig.DropEngine engine = enumAt(ModConfig.DropEngine.values(), buffer.get());
+        boolean coalesceDrops = buffer.get() != 0;
+        int statsDumpMinutes = buffer.getInt();
+        boolean watchConfigFile = buffer.get() != 0;
+
+        int mobCount = buffer.getInt();
+        List<ConfigSnapshot.MobRule> mobs = new ArrayList<>(mobCount);
+        for (int i = 0; i < mobCount; i++) {
+            String mobId = readString(buffer);
+            boolean enabled = buffer.get() != 0;
+            boolean dropGroup = buffer.get() != 0;
+            boolean deliverToInventory = buffer.get() != 0;
+            int budgetPerMinute = buffer.getInt();
+            ModConfig.BudgetScope budgetScope = enumAt(ModConfig.BudgetScope.values(), buffer.get());
+
+            int itemCount = buffer.getInt();
+            List<ConfigSnapshot.ItemRule> items = new ArrayList<>(itemCount);
+            for (int j = 0; j < itemCount; j++) {
+                items.add(new ConfigSnapshot.ItemRule(readString(buffer), buffer.get() != 0, buffer.getInt(),
+                        buffer.getInt(), buffer.getFloat(), buffer.get() != 0, buffer.getInt(),
+                        enumAt(ModConfig.BudgetScope.values(), buffer.get()), readConditions(buffer)));
+            }
+            mobs.add(new ConfigSnapshot.MobRule(mobId, enabled, dropGroup, deliverToInventory,
+                    budgetPerMinute, budgetScope, items));
+        }
+
+        return ConfigSnapshot.create(version, engine, coalesceDrops, statsDumpMinutes, watchConfigFile, mobs);
+    }
+
+    private static void writeCache(Path cachePath, long jsonHash, long modsHash, ConfigSnapshot snapshot) {
+        Path temp = cachePath.resolveSibling(CACHE_FILE_NAME + ".tmp");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(jsonHash);
+            out.writeLong(modsHash);
+
+            out.writeByte(snapshot.getDropEngine().ordinal());
+            out.writeBoolean(snapshot.isCoalesceDrops());
+            out.writeInt(snapshot.getStatsDumpMinutes());
+            out.writeBoolean(snapshot.isWatchConfigFile());
+
+            out.writeInt(snapshot.getMobs().size());
+            for (ConfigSnapshot.MobRule mob : snapshot.getMobs()) {
+                writeString(out, mob.mobId());
+                out.writeBoolean(mob.enabled());
+                out.writeBoolean(mob.dropGroup());
+                out.writeBoolean(mob.deliverToInventory());
+                out.writeInt(mob.budgetPerMinute());
+                out.writeByte(mob.budgetScope().ordinal());
+
+                out.writeInt(mob.itemDrops().size());
+                for (ConfigSnapshot.ItemRule item : mob.itemDrops()) {
+                    writeString(out, item.itemId());
+                    out.writeBoolean(item.enabled());
+                    out.writeInt(item.minCount());
+                    out.writeInt(item.maxCount());
+                    out.writeFloat(item.dropChance());
+                    out.writeBoolean(item.applyLooting());
+                    out.writeInt(item.budgetPerMinute());
+                    out.writeByte(item.budgetScope().ordinal());
+                    writeConditions(out, item.conditions());
+                }
+            }
+            out.flush();
+
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, cachePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cachePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.debug("Wrote compiled config cache ({} bytes)", bytes.size());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write config cache {}: {}", cachePath, e.getMessage());
+        }
+    }
+
+    private static void writeConditions(DataOutputStream out, ConfigSnapshot.ConditionRule conditions) throws IOException {
+        out.writeBoolean(!conditions.isAlways());
+        if (conditions.isAlways()) {
+            return;
+        }
+        writeStrings(out, conditions.dimensions());
+        writeStrings(out, conditions.biomes());
+        out.writeByte(conditions.minDifficulty().ordinal());
+        out.writeByte(conditions.time().ordinal());
+        out.writeByte(conditions.weather().ordinal());
+    }
+
+    private static ConfigSnapshot.ConditionRule readConditions(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return ConfigSnapshot.ConditionRule.NONE;
+        }
+        return new ConfigSnapshot.ConditionRule(readStrings(buffer), readStrings(buffer),
+                enumAt(ModConfig.DifficultyCondition.values(), buffer.get()),
+                enumAt(ModConfig.TimeCondition.values(), buffer.get()),
+                enumAt(ModConfig.WeatherCondition.values(), buffer.get()));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid list length " + count);
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, byte ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Invalid " + values.getClass().getComponentType().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Hash daftar mod (id + versi): registry bisa berubah kalau mod ditambah/diupdate
+     */
+    private static long modListHash() {
+        List<String> mods = new ArrayList<>();
+        for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+            mods.add(mod.getMetadata().getId() + "@" + mod.getMetadata().getVersion().getFriendlyString());
+        }
+        mods.sort(null);
+        return hash(String.join("\n", mods).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long hash(byte[] content) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            // Setiap JVM wajib punya SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
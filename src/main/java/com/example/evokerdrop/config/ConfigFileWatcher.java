@@ -0,0 +1,168 @@
+package com.example.evokerdrop.config;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Hot reload evokerdrops.json lewat WatchService di folder config Fabric.
+ * File dibaca + divalidasi di thread watcher, config baru dipasang di server thread.
+ * Perubahan diabaikan kalau checksum-nya sama dengan isi file dari config yang sedang aktif
+ * (termasuk write dari ModConfig.save() sendiri).
+ * Kalau layout shard aktif, folder config/evokerdrops/ ikut diawasi.
+ */
+public final class ConfigFileWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Watcher");
+    // Tunggu sampai folder tenang dulu (editor / config management sering menulis beberapa kali)
+    private static final long DEBOUNCE_MILLIS = 500L;
+
+    private static ConfigFileWatcher active;
+    // CRC32 evokerdrops.json yang sesuai dengan config aktif, -1 kalau tidak diketahui
+    private static volatile long activeChecksum = -1L;
+
+    private final MinecraftServer server;
+    private final Path configFile;
+    private final ShardedConfigStore shards;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private ConfigFileWatcher(MinecraftServer server, Path configFile) throws IOException {
+        this.server = server;
+        this.configFile = configFile;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        configFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.shards = ShardedConfigStore.forConfigFile(configFile.toFile());
+        if (shards.isEnabled()) {
+            shards.getDirectory().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        this.thread = new Thread(this::run, "EvokerDrops-ConfigWatcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Nyalakan atau matikan watcher sesuai config, aman dipanggil berulang kali
+     */
+    public static synchronized void setEnabled(MinecraftServer server, boolean enabled) {
+        if (enabled && active == null) {
+            try {
+                active = new ConfigFileWatcher(server, ModConfig.getConfigFile().toPath().toAbsolutePath());
+                active.thread.start();
+                LOGGER.info("Watching {} for changes", active.configFile);
+            } catch (IOException e) {
+                LOGGER.error("Failed to start config file watcher", e);
+            }
+        } else if (!enabled && active != null) {
+            stop();
+        }
+    }
+
+    /**
+     * Catat checksum file untuk config yang dipasang dari luar watcher
+     * (setiap ModConfig.save(), /evokerdrops reload). -1 kalau isi file tidak diketahui.
+     */
+    public static void setActiveChecksum(long checksum) {
+        activeChecksum = checksum;
+    }
+
+    public static synchronized void stop() {
+        if (active == null) {
+            return;
+        }
+        try {
+            active.watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close config file watcher: {}", e.getMessage());
+        }
+        active = null;
+        LOGGER.info("Stopped watching config file");
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = isRelevant(key);
+                if (!relevant) {
+                    continue;
+                }
+
+                // Debounce: buang event lanjutan sampai tidak ada perubahan selama DEBOUNCE_MILLIS
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isRelevant(key);
+                }
+
+                try {
+                    reloadFromDisk();
+                } catch (RuntimeException e) {
+                    // Satu reload gagal tidak boleh mematikan thread watcher
+                    LOGGER.error("Failed to hot-reload {}", configFile, e);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Watcher dimatikan
+        }
+    }
+
+    private boolean isRelevant(WatchKey key) {
+        boolean shardKey = shards.getDirectory().equals(key.watchable());
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (shardKey ? event.context().toString().endsWith(".json") : configFile.getFileName().equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void reloadFromDisk() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(configFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {}: {}", configFile, e.getMessage());
+            return;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        long checksum = crc.getValue();
+        boolean mainUnchanged = checksum == activeChecksum;
+        // Shard yang ditulis save() sendiri sudah tercatat di store, jadi dianggap up to date
+        if (mainUnchanged && (!shards.isEnabled() || shards.isUpToDate())) {
+            LOGGER.debug("Ignoring change to {}, content already active", configFile);
+            return;
+        }
+
+        ModConfig newConfig;
+        try {
+            // Hanya shard yang berubah yang di-parse ulang
+            newConfig = ModConfig.parse(content, configFile.toFile());
+        } catch (Exception e) {
+            // Jangan ganti config aktif dengan default kalau file sedang rusak / setengah ditulis
+            LOGGER.warn("Ignoring invalid {}: {}", configFile, e.getMessage());
+            return;
+        }
+
+        activeChecksum = checksum;
+        server.execute(() -> {
+            EvokerDropsMod.applyConfig(newConfig);
+            LOGGER.info("§a[Evoker Drops] Hot-reloaded {} with {} mob(s)", configFile.getFileName(), newConfig.mobConfigs.size());
+        });
+    }
+}
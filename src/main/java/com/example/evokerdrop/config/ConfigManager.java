@@ -16,11 +16,6 @@ public class ConfigManager {
      * Menambahkan mob baru ke konfigurasi (TANPA default item)
      */
     public static boolean addMob(ModConfig config, String mobId) {
-        if (config.mobConfigs.size() >= 5) {
-            LOGGER.warn("Cannot add more mobs, maximum is 5");
-            return false;
-        }
-
         // Check if mob already exists
         for (ModConfig.MobDropConfig existing : config.mobConfigs) {
             if (existing.mobId.equals(mobId)) {
@@ -65,11 +60,6 @@ public class ConfigManager {
 
         ModConfig.MobDropConfig mobConfig = config.mobConfigs.get(mobIndex);
 
-        if (mobConfig.itemDrops.size() >= 7) {
-            LOGGER.warn("Cannot add more items to {}, maximum is 7", mobConfig.mobId);
-            return false;
-        }
-
         ModConfig.ItemDropConfig newItem = new ModConfig.ItemDropConfig();
         newItem.itemId = itemId;
         newItem.enabled = true;
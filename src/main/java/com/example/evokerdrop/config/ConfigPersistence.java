@@ -0,0 +1,80 @@
+package com.example.evokerdrop.config;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Simpan config dari GUI di background thread. Perubahan beruntun dalam satu
+ * jendela debounce digabung jadi satu write ke disk dan satu reload.
+ */
+public final class ConfigPersistence {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Persistence");
+    private static final long DEBOUNCE_MILLIS = 750L;
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EvokerDrops-ConfigSaver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Snapshot terbaru yang belum ditulis, null kalau tidak ada
+    private static final AtomicReference<ModConfig> PENDING = new AtomicReference<>();
+    private static ScheduledFuture<?> scheduled;
+
+    private ConfigPersistence() {
+    }
+
+    /**
+     * Jadwalkan save + reload untuk isi config saat ini. Snapshot diambil sekarang
+     * (di thread pemanggil), jadi GUI bebas lanjut mengubah config-nya.
+     */
+    public static synchronized void requestSave(ModConfig config) {
+        PENDING.set(config.copy());
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = EXECUTOR.schedule(ConfigPersistence::persist, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tulis perubahan yang masih tertunda sekarang juga dan tunggu sampai selesai (dipakai saat game ditutup)
+     */
+    public static void flush() {
+        synchronized (ConfigPersistence.class) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        try {
+            EXECUTOR.submit(ConfigPersistence::persist).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            LOGGER.error("Failed to flush pending config save", e);
+        }
+    }
+
+    private static void persist() {
+        ModConfig snapshot = PENDING.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            // Slider GUI bisa menghasilkan nilai tidak valid (mis. min > max), perbaiki sebelum live
+            snapshot.validate();
+            // save() sendiri mencatat checksum untuk watcher
+            snapshot.save();
+            EvokerDropsMod.applyConfig(snapshot);
+            LOGGER.info("Persisted configuration with {} mob(s)", snapshot.mobConfigs.size());
+        } catch (Exception e) {
+            LOGGER.error("Failed to persist configuration", e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.evokerdrop.config;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Parser streaming untuk evokerdrops.json: file dibaca sekali lewat JsonReader,
+ * dan setiap mob dan item langsung divalidasi begitu objeknya selesai dibaca.
+ * File shard per mob memakai parser mob yang sama.
+ */
+final class ConfigReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Config");
+
+    private ConfigReader() {
+    }
+
+    static ModConfig read(Reader source) throws IOException {
+        JsonReader reader = open(source);
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        ModConfig config = new ModConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "mobConfigs" -> readMobs(reader, config);
+                case "dropEngine" -> config.dropEngine = readEnum(reader, ModConfig.DropEngine.class);
+                case "coalesceDrops" -> config.coalesceDrops = reader.nextBoolean();
+                case "statsDumpMinutes" -> config.statsDumpMinutes = reader.nextInt();
+                case "watchConfigFile" -> config.watchConfigFile = reader.nextBoolean();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        config.validateGlobal();
+        return config;
+    }
+
+    /**
+     * Baca satu file shard (config/evokerdrops/*.json) berisi satu objek mob
+     */
+    static ModConfig.MobDropConfig readMob(Reader source) throws IOException {
+        return readMob(open(source));
+    }
+
+    private static JsonReader open(Reader source) {
+        JsonReader reader = new JsonReader(source);
+        // Sama dengan Gson.fromJson: komentar dan trailing comma tetap diterima
+        reader.setStrictness(Strictness.LENIENT);
+        return reader;
+    }
+
+    private static void readMobs(JsonReader reader, ModConfig config) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            ModConfig.MobDropConfig mob = readMob(reader);
+            if (mob != null) {
+                config.mobConfigs.add(mob);
+            }
+        }
+        reader.endArray();
+    }
+
+    private static ModConfig.MobDropConfig readMob(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        ModConfig.MobDropConfig mob = new ModConfig.MobDropConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "mobId" -> mob.mobId = reader.nextString();
+                case "enabled" -> mob.enabled = reader.nextBoolean();
+                case "dropGroup" -> mob.dropGroup = reader.nextBoolean();
+                case "deliverToInventory" -> mob.deliverToInventory = reader.nextBoolean();
+                case "budgetPerMinute" -> mob.budgetPerMinute = reader.nextInt();
+                case "budgetScope" -> mob.budgetScope = readEnum(reader, ModConfig.BudgetScope.class);
+                case "itemDrops" -> readItems(reader, mob);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        ModConfig.validateMob(mob);
+        LOGGER.debug("  - Loaded mob: {} (enabled: {}) with {} items", mob.mobId, mob.enabled, mob.itemDrops.size());
+        return mob;
+    }
+
+    private static void readItems(JsonReader reader, ModConfig.MobDropConfig mob) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            ModConfig.ItemDropConfig item = readItem(reader);
+            if (item != null) {
+                mob.itemDrops.add(item);
+            }
+        }
+        reader.endArray();
+    }
+
+    private static ModConfig.ItemDropConfig readItem(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        ModConfig.ItemDropConfig item = new ModConfig.ItemDropConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "itemId" -> item.itemId = reader.nextString();
+                case "enabled" -> item.enabled = reader.nextBoolean();
+                case "minCount" -> item.minCount = reader.nextInt();
+                case "maxCount" -> item.maxCount = reader.nextInt();
+                case "dropChance" -> item.dropChance = (float) reader.nextDouble();
+                case "applyLooting" -> item.applyLooting = reader.nextBoolean();
+                case "budgetPerMinute" -> item.budgetPerMinute = reader.nextInt();
+                case "budgetScope" -> item.budgetScope = readEnum(reader, ModConfig.BudgetScope.class);
+                case "conditions" -> item.conditions = readConditions(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        ModConfig.validateItem(item);
+        return item;
+    }
+
+    private static ModConfig.DropConditionConfig readConditions(JsonReader reader) throws IOException {
+        ModConfig.DropConditionConfig conditions = new ModConfig.DropConditionConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "dimensions" -> readStrings(reader, conditions.dimensions);
+                case "biomes" -> readStrings(reader, conditions.biomes);
+                case "minDifficulty" -> conditions.minDifficulty = readEnum(reader, ModConfig.DifficultyCondition.class);
+                case "time" -> conditions.time = readEnum(reader, ModConfig.TimeCondition.class);
+                case "weather" -> conditions.weather = readEnum(reader, ModConfig.WeatherCondition.class);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return conditions;
+    }
+
+    private static void readStrings(JsonReader reader, List<String> target) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                target.add(reader.nextString());
+            }
+        }
+        reader.endArray();
+    }
+
+    private static <E extends Enum<E>> E readEnum(JsonReader reader, Class<E> type) throws IOException {
+        String value = reader.nextString();
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            // null nanti diganti default oleh validasi
+            LOGGER.warn("Unknown {} value: {}", type.getSimpleName(), value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.evokerdrop.config;
+
+import com.example.evokerdrop.drop.DropIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versi immutable dari ModConfig yang dipublish lewat satu AtomicReference.
+ * Semua thread (render, server, watcher, saver) membaca snapshot yang sama tanpa lock
+ * dan tanpa copy(); perubahan selalu membuat snapshot baru dengan version + 1.
+ */
+public final class ConfigSnapshot {
+    public static final ConfigSnapshot EMPTY = of(new ModConfig(), 0L);
+
+    private final long version;
+    private final long createdAt;
+    private final ModConfig.DropEngine dropEngine;
+    private final boolean coalesceDrops;
+    private final int statsDumpMinutes;
+    private final boolean watchConfigFile;
+    private final List<MobRule> mobs;
+    // Dikompilasi sekali bersama snapshot, jadi rule dan index selalu konsisten
+    private final DropIndex dropIndex;
+
+    private ConfigSnapshot(long version, ModConfig.DropEngine dropEngine, boolean coalesceDrops,
+                           int statsDumpMinutes, boolean watchConfigFile, List<MobRule> mobs) {
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.dropEngine = dropEngine;
+        this.coalesceDrops = coalesceDrops;
+        this.statsDumpMinutes = statsDumpMinutes;
+        this.watchConfigFile = watchConfigFile;
+        this.mobs = List.copyOf(mobs);
+        this.dropIndex = DropIndex.compile(dropEngine, coalesceDrops, this.mobs);
+    }
+
+    /**
+     * Snapshot dari isi config saat ini, perubahan ke config setelahnya tidak ikut
+     */
+    public static ConfigSnapshot of(ModConfig config, long version) {
+        List<MobRule> mobs = new ArrayList<>(config.mobConfigs.size());
+        for (ModConfig.MobDropConfig mob : config.mobConfigs) {
+            List<ItemRule> items = new ArrayList<>(mob.itemDrops.size());
+            for (ModConfig.ItemDropConfig item : mob.itemDrops) {
+                items.add(new ItemRule(item.itemId, item.enabled, item.minCount, item.maxCount, item.dropChance,
+                        item.applyLooting, item.budgetPerMinute, item.budgetScope, ConditionRule.of(item.conditions)));
+            }
+            mobs.add(new MobRule(mob.mobId, mob.enabled, mob.dropGroup, mob.deliverToInventory,
+                    mob.budgetPerMinute, mob.budgetScope, items));
+        }
+
+        ModConfig.DropEngine engine = config.dropEngine != null ? config.dropEngine : ModConfig.DropEngine.LOOT_TABLE;
+        return new ConfigSnapshot(version, engine, config.coalesceDrops, config.statsDumpMinutes,
+                config.watchConfigFile, mobs);
+    }
+
+    /**
+     * Snapshot dari rule yang sudah divalidasi (dipakai ConfigCache)
+     */
+    static ConfigSnapshot create(long version, ModConfig.DropEngine dropEngine, boolean coalesceDrops,
+                                 int statsDumpMinutes, boolean watchConfigFile, List<MobRule> mobs) {
+        return new ConfigSnapshot(version, dropEngine, coalesceDrops, statsDumpMinutes, watchConfigFile, mobs);
+    }
+
+    /**
+     * Salinan mutable untuk diedit (GUI), tidak terhubung lagi dengan snapshot ini
+     */
+    public ModConfig toModConfig() {
+        ModConfig config = new ModConfig();
+        config.dropEngine = dropEngine;
+        config.coalesceDrops = coalesceDrops;
+        config.statsDumpMinutes = statsDumpMinutes;
+        config.watchConfigFile = watchConfigFile;
+        for (MobRule mob : mobs) {
+            ModConfig.MobDropConfig mobConfig = new ModConfig.MobDropConfig();
+            mobConfig.mobId = mob.mobId();
+            mobConfig.enabled = mob.enabled();
+            mobConfig.dropGroup = mob.dropGroup();
+            mobConfig.deliverToInventory = mob.deliverToInventory();
+            mobConfig.budgetPerMinute = mob.budgetPerMinute();
+            mobConfig.budgetScope = mob.budgetScope();
+            for (ItemRule item : mob.itemDrops()) {
+                ModConfig.ItemDropConfig itemConfig = new ModConfig.ItemDropConfig();
+                itemConfig.itemId = item.itemId();
+                itemConfig.enabled = item.enabled();
+                itemConfig.minCount = item.minCount();
+                itemConfig.maxCount = item.maxCount();
+                itemConfig.dropChance = item.dropChance();
+                itemConfig.applyLooting = item.applyLooting();
+                itemConfig.budgetPerMinute = item.budgetPerMinute();
+                itemConfig.budgetScope = item.budgetScope();
+                itemConfig.conditions = item.conditions().toConfig();
+                mobConfig.itemDrops.add(itemConfig);
+            }
+            config.mobConfigs.add(mobConfig);
+        }
+        return config;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Waktu snapshot ini dibuat (ms epoch)
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public ModConfig.DropEngine getDropEngine() {
+        return dropEngine;
+    }
+
+    public boolean isCoalesceDrops() {
+        return coalesceDrops;
+    }
+
+    public int getStatsDumpMinutes() {
+        return statsDumpMinutes;
+    }
+
+    public boolean isWatchConfigFile() {
+        return watchConfigFile;
+    }
+
+    public List<MobRule> getMobs() {
+        return mobs;
+    }
+
+    public DropIndex getDropIndex() {
+        return dropIndex;
+    }
+
+    /**
+     * Rule drop untuk satu mob
+     */
+    public record MobRule(String mobId, boolean enabled, boolean dropGroup, boolean deliverToInventory,
+                          int budgetPerMinute, ModConfig.BudgetScope budgetScope, List<ItemRule> itemDrops) {
+        public MobRule {
+            itemDrops = List.copyOf(itemDrops);
+        }
+    }
+
+    /**
+     * Rule untuk satu item drop
+     */
+    public record ItemRule(String itemId, boolean enabled, int minCount, int maxCount, float dropChance,
+                           boolean applyLooting, int budgetPerMinute, ModConfig.BudgetScope budgetScope,
+                           ConditionRule conditions) {
+    }
+
+    /**
+     * Kondisi item drop, NONE kalau item selalu drop
+     */
+    public record ConditionRule(List<String> dimensions, List<String> biomes,
+                                ModConfig.DifficultyCondition minDifficulty, ModConfig.TimeCondition time,
+                                ModConfig.WeatherCondition weather) {
+        public static final ConditionRule NONE = new ConditionRule(List.of(), List.of(),
+                ModConfig.DifficultyCondition.ANY, ModConfig.TimeCondition.ANY, ModConfig.WeatherCondition.ANY);
+
+        public ConditionRule {
+            dimensions = List.copyOf(dimensions);
+            biomes = List.copyOf(biomes);
+        }
+
+        static ConditionRule of(ModConfig.DropConditionConfig config) {
+            if (config == null) {
+                return NONE;
+            }
+            ConditionRule rule = new ConditionRule(config.dimensions, config.biomes,
+                    config.minDifficulty, config.time, config.weather);
+            return rule.equals(NONE) ? NONE : rule;
+        }
+
+        public boolean isAlways() {
+            return equals(NONE);
+        }
+
+        ModConfig.DropConditionConfig toConfig() {
+            if (isAlways()) {
+                return null;
+            }
+            ModConfig.DropConditionConfig config = new ModConfig.DropConditionConfig();
+            config.dimensions.addAll(dimensions);
+            config.biomes.addAll(biomes);
+            config.minDifficulty = minDifficulty;
+            config.time = time;
+            config.weather = weather;
+            return config;
+        }
+    }
+}
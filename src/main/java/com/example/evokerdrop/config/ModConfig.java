@@ -6,177 +6,352 @@ import net.fabricmc.loader.api.FabricLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 public class ModConfig {
     private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Config");
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
-    private static final File CONFIG_FILE = new File(
-            FabricLoader.getInstance().getConfigDir().toFile(),
-            "evokerdrops.json"
-    );
+    private static final String CONFIG_FILE_NAME = "evokerdrops.json";
+    // -Devokerdrops.verifySaves=true: cek checksum file temp sebelum di-move
+    private static final boolean VERIFY_SAVES = Boolean.getBoolean("evokerdrops.verifySaves");
+
+    // CRC32 isi file dari save terakhir, dipakai ConfigFileWatcher untuk mengenali write sendiri
+    private static volatile long lastSavedChecksum = -1L;
 
     // Default configuration - KOSONG
     public List<MobDropConfig> mobConfigs = new ArrayList<>();
 
+    // LOOT_TABLE = inject ke loot table (butuh resource reload), RUNTIME = roll saat mob mati
+    public DropEngine dropEngine = DropEngine.LOOT_TABLE;
+
+    // Gabungkan drop di chunk + tick yang sama jadi satu stack per item (engine RUNTIME)
+    public boolean coalesceDrops = false;
+
+    // Interval (menit) dump statistik drop ke config/evokerdrops-stats.csv, 0 = tidak pernah
+    public int statsDumpMinutes = 0;
+
+    // Reload otomatis kalau evokerdrops.json diubah dari luar (server)
+    public boolean watchConfigFile = false;
+
     // Transient fields (not saved to JSON)
     private transient List<Runnable> changeListeners = new ArrayList<>();
 
     public ModConfig() {
-        LOGGER.info("Configuration initialized with empty mob list");
+        LOGGER.debug("Configuration initialized with empty mob list");
     }
 
-    public static ModConfig load() {
-        LOGGER.info("=== LOADING CONFIG FROM FILE ===");
-        LOGGER.info("Config file path: {}", CONFIG_FILE.getAbsolutePath());
-        LOGGER.info("Config file exists: {}", CONFIG_FILE.exists());
-
-        if (CONFIG_FILE.exists()) {
-            try (FileReader reader = new FileReader(CONFIG_FILE)) {
-                // Read file content untuk logging
-                String content = new String(Files.readAllBytes(CONFIG_FILE.toPath()));
-                LOGGER.info("Config file content length: {} bytes", content.length());
-                LOGGER.debug("Config file content: {}", content);
-
-                ModConfig config = GSON.fromJson(reader, ModConfig.class);
-                if (config == null) {
-                    LOGGER.warn("Config parsed as null, creating new empty config");
-                    config = new ModConfig();
-                } else {
-                    LOGGER.info("Config parsed successfully with {} mob(s)", config.mobConfigs.size());
-                }
+    /**
+     * Deep copy semua field yang disimpan ke JSON (tanpa change listener)
+     */
+    public ModConfig copy() {
+        ModConfig copy = new ModConfig();
+        for (MobDropConfig mob : mobConfigs) {
+            copy.mobConfigs.add(mob.copy());
+        }
+        copy.dropEngine = this.dropEngine;
+        copy.coalesceDrops = this.coalesceDrops;
+        copy.statsDumpMinutes = this.statsDumpMinutes;
+        copy.watchConfigFile = this.watchConfigFile;
+        return copy;
+    }
 
-                // Initialize transient fields
-                config.changeListeners = new ArrayList<>();
+    /**
+     * Lokasi default config: config/evokerdrops.json di folder Fabric
+     */
+    public static File getConfigFile() {
+        return new File(FabricLoader.getInstance().getConfigDir().toFile(), CONFIG_FILE_NAME);
+    }
 
-                // Validate and fix if needed
-                config.validate();
+    public static ModConfig load() {
+        return load(getConfigFile());
+    }
 
-                // Log loaded config details
-                for (ModConfig.MobDropConfig mob : config.mobConfigs) {
-                    LOGGER.info("  - Loaded mob: {} (enabled: {}) with {} items",
-                            mob.mobId, mob.enabled, mob.itemDrops.size());
-                }
+    /**
+     * Baca config dalam satu pass streaming, validasi dilakukan sambil parse
+     */
+    public static ModConfig load(File configFile) {
+        if (!configFile.exists()) {
+            LOGGER.info("No config file found at {}, creating new empty configuration", configFile.getAbsolutePath());
+            ModConfig config = new ModConfig();
+            mergeShards(config, configFile);
+            config.save(configFile);
+            return config;
+        }
 
-                LOGGER.info("=== CONFIG LOAD COMPLETED ===");
-                return config;
-            } catch (Exception e) {
-                LOGGER.error("Failed to load config, using defaults", e);
-                return new ModConfig();
+        try (Reader reader = Files.newBufferedReader(configFile.toPath(), StandardCharsets.UTF_8)) {
+            ModConfig config = ConfigReader.read(reader);
+            if (config == null) {
+                LOGGER.warn("Config parsed as null, creating new empty config");
+                config = new ModConfig();
             }
-        } else {
-            LOGGER.info("No config file found, creating new empty configuration");
-            ModConfig config = new ModConfig();
-            config.save();
+            mergeShards(config, configFile);
+
+            LOGGER.info("Config loaded with {} mob(s) from {}", config.mobConfigs.size(), configFile.getAbsolutePath());
             return config;
+        } catch (Exception e) {
+            LOGGER.error("Failed to load config, using defaults", e);
+            return new ModConfig();
+        }
+    }
+
+    /**
+     * Parse isi evokerdrops.json yang sudah dibaca, lalu gabungkan shard per mob.
+     * Exception dilempar ke pemanggil (watcher tidak boleh jatuh ke default).
+     */
+    static ModConfig parse(byte[] content, File configFile) throws IOException {
+        ModConfig config;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            config = ConfigReader.read(reader);
+        }
+        if (config == null) {
+            config = new ModConfig();
         }
+        mergeShards(config, configFile);
+        return config;
+    }
+
+    private static void mergeShards(ModConfig config, File configFile) {
+        ShardedConfigStore store = ShardedConfigStore.forConfigFile(configFile);
+        if (store.isEnabled()) {
+            config.mobConfigs.addAll(store.load());
+        }
+    }
+
+    /**
+     * CRC32 isi file dari save terakhir proses ini, -1 kalau belum pernah save
+     */
+    public static long getLastSavedChecksum() {
+        return lastSavedChecksum;
     }
 
     public void save() {
-        LOGGER.info("=== SAVING CONFIG TO FILE ===");
-        LOGGER.info("Config file path: {}", CONFIG_FILE.getAbsolutePath());
-        LOGGER.info("Saving {} mob(s)", mobConfigs.size());
+        save(getConfigFile());
+    }
 
-        // Log detail config yang akan disave
-        for (MobDropConfig mob : mobConfigs) {
-            LOGGER.info("  - Saving mob: {} (enabled: {}) with {} items",
-                    mob.mobId, mob.enabled, mob.itemDrops.size());
-            for (ItemDropConfig item : mob.itemDrops) {
-                LOGGER.info("    * Item: {} (enabled: {}, count: {}-{}, chance: {}%)",
-                        item.itemId, item.enabled, item.minCount, item.maxCount,
-                        Math.round(item.dropChance * 100));
+    /**
+     * Tulis config ke file temp, fsync, lalu ATOMIC_MOVE ke file asli.
+     * Kalau proses mati di tengah jalan, file lama tetap utuh.
+     * Dengan layout shard (config/evokerdrops/), setiap mob ditulis ke file-nya sendiri
+     * dan evokerdrops.json hanya berisi setting global.
+     */
+    public void save(File configFile) {
+        Path target = configFile.toPath().toAbsolutePath();
+
+        if (LOGGER.isDebugEnabled()) {
+            for (MobDropConfig mob : mobConfigs) {
+                LOGGER.debug("  - Saving mob: {} (enabled: {}) with {} items",
+                        mob.mobId, mob.enabled, mob.itemDrops.size());
+                for (ItemDropConfig item : mob.itemDrops) {
+                    LOGGER.debug("    * Item: {} (enabled: {}, count: {}-{}, chance: {}%)",
+                            item.itemId, item.enabled, item.minCount, item.maxCount,
+                            Math.round(item.dropChance * 100));
+                }
             }
         }
 
         try {
-            // Ensure config directory exists
-            File configDir = CONFIG_FILE.getParentFile();
-            if (!configDir.exists()) {
-                configDir.mkdirs();
-                LOGGER.info("Created config directory: {}", configDir.getAbsolutePath());
+            ModConfig mainPart = this;
+            ShardedConfigStore store = ShardedConfigStore.forConfigFile(configFile);
+            if (store.isEnabled()) {
+                store.save(mobConfigs);
+                mainPart = copy();
+                mainPart.mobConfigs.clear();
             }
 
-            // Write to file
-            try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
-                GSON.toJson(this, writer);
-                writer.flush(); // Force write to disk
+            ModConfig toWrite = mainPart;
+            // Di-set sebelum move supaya event watcher untuk file ini sudah bisa dikenali.
+            // Setiap save menulis config yang (akan) aktif, jadi watcher mengabaikan write sendiri.
+            writeAtomically(target, writer -> GSON.toJson(toWrite, writer), checksum -> {
+                lastSavedChecksum = checksum;
+                ConfigFileWatcher.setActiveChecksum(checksum);
+            });
+
+            LOGGER.info("Config saved: {} mob(s) to {}", mobConfigs.size(), target);
+            notifyChanges();
+        } catch (IOException e) {
+            LOGGER.error("Failed to save config to {}", target, e);
+        }
+    }
+
+    /**
+     * Tulis lewat file temp + fsync + ATOMIC_MOVE. Checksum CRC32 dihitung sambil menulis
+     * dan diberikan ke beforeMove sebelum file asli diganti.
+     */
+    static long writeAtomically(Path target, ContentWriter content, LongConsumer beforeMove) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+
+            // Checksum dihitung sambil menulis, tanpa membaca atau parse ulang
+            CRC32 checksum = new CRC32();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), checksum), StandardCharsets.UTF_8));
+                content.write(writer);
+                writer.flush();
+                channel.force(true);
             }
 
-            // Verify file was written
-            if (CONFIG_FILE.exists()) {
-                long fileSize = CONFIG_FILE.length();
-                LOGGER.info("Config file written successfully, size: {} bytes", fileSize);
-
-                // Read back untuk verify
-                String savedContent = new String(Files.readAllBytes(CONFIG_FILE.toPath()));
-                LOGGER.debug("Saved config content: {}", savedContent);
-
-                // Verify dengan parse ulang
-                ModConfig verifyConfig = GSON.fromJson(savedContent, ModConfig.class);
-                if (verifyConfig != null) {
-                    LOGGER.info("Config file verified: {} mob(s) saved correctly", verifyConfig.mobConfigs.size());
-                } else {
-                    LOGGER.error("Config file verification failed: parsed as null");
-                }
-            } else {
-                LOGGER.error("Config file does not exist after write!");
+            if (VERIFY_SAVES) {
+                verifyChecksum(temp, checksum.getValue());
             }
 
-            notifyChanges();
-            LOGGER.info("=== CONFIG SAVE COMPLETED ===");
+            beforeMove.accept(checksum.getValue());
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                LOGGER.debug("Atomic move not supported for {}, falling back to replace", target);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return checksum.getValue();
         } catch (IOException e) {
-            LOGGER.error("Failed to save config", e);
-            LOGGER.error("Stack trace:", e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // File temp sisa akan ditimpa di save berikutnya
+            }
+            throw e;
         }
     }
 
-    private void validate() {
-        // Ensure we don't have more than 5 mob configs
-        if (mobConfigs.size() > 5) {
-            LOGGER.warn("Too many mobs ({}), limiting to 5", mobConfigs.size());
-            mobConfigs = new ArrayList<>(mobConfigs.subList(0, 5));
+    static String toJson(Object value) {
+        return GSON.toJson(value);
+    }
+
+    /**
+     * Isi file yang ditulis oleh writeAtomically
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(Writer writer) throws IOException;
+    }
+
+    private static void verifyChecksum(Path file, long expected) throws IOException {
+        CRC32 actual = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                actual.update(buffer);
+                buffer.clear();
+            }
         }
+        if (actual.getValue() != expected) {
+            throw new IOException("Checksum mismatch for " + file + " (expected " + Long.toHexString(expected)
+                    + ", got " + Long.toHexString(actual.getValue()) + ")");
+        }
+    }
 
-        // Validate each mob config
-        for (MobDropConfig mobConfig : mobConfigs) {
-            // Ensure each mob doesn't have more than 7 item drops
-            if (mobConfig.itemDrops.size() > 7) {
-                LOGGER.warn("Mob {} has too many items ({}), limiting to 7",
-                        mobConfig.mobId, mobConfig.itemDrops.size());
-                mobConfig.itemDrops = new ArrayList<>(mobConfig.itemDrops.subList(0, 7));
+    /**
+     * Validasi seluruh config (global, mob, item). Dipakai untuk config yang tidak
+     * lewat ConfigReader, mis. hasil edit GUI, sebelum disimpan dan dipasang.
+     */
+    void validate() {
+        validateGlobal();
+        for (MobDropConfig mob : mobConfigs) {
+            validateMob(mob);
+            for (ItemDropConfig item : mob.itemDrops) {
+                validateItem(item);
             }
+        }
+    }
 
-            // Validate each item drop
-            for (ItemDropConfig itemDrop : mobConfig.itemDrops) {
-                // Ensure drop chance is between 0 and 1
-                if (itemDrop.dropChance < 0) {
-                    LOGGER.warn("Invalid drop chance {} for item {}, setting to 0",
-                            itemDrop.dropChance, itemDrop.itemId);
-                    itemDrop.dropChance = 0;
-                }
-                if (itemDrop.dropChance > 1) {
-                    LOGGER.warn("Invalid drop chance {} for item {}, setting to 1",
-                            itemDrop.dropChance, itemDrop.itemId);
-                    itemDrop.dropChance = 1;
-                }
+    /**
+     * Validasi field global, dipanggil setelah semua mob selesai dibaca
+     */
+    void validateGlobal() {
+        if (dropEngine == null) {
+            LOGGER.warn("Missing drop engine, falling back to {}", DropEngine.LOOT_TABLE);
+            dropEngine = DropEngine.LOOT_TABLE;
+        }
+        if (statsDumpMinutes < 0) {
+            LOGGER.warn("Invalid stats dump interval {}, disabling stats dump", statsDumpMinutes);
+            statsDumpMinutes = 0;
+        }
+    }
 
-                // Ensure count values are positive
-                if (itemDrop.minCount < 1) {
-                    LOGGER.warn("Invalid minCount {} for item {}, setting to 1",
-                            itemDrop.minCount, itemDrop.itemId);
-                    itemDrop.minCount = 1;
-                }
-                if (itemDrop.maxCount < itemDrop.minCount) {
-                    LOGGER.warn("maxCount {} less than minCount {} for item {}, fixing",
-                            itemDrop.maxCount, itemDrop.minCount, itemDrop.itemId);
-                    itemDrop.maxCount = itemDrop.minCount;
-                }
+    static void validateMob(MobDropConfig mobConfig) {
+        if (mobConfig.budgetPerMinute < 0) {
+            LOGGER.warn("Invalid budget {} for mob {}, disabling budget",
+                    mobConfig.budgetPerMinute, mobConfig.mobId);
+            mobConfig.budgetPerMinute = 0;
+        }
+        if (mobConfig.budgetScope == null) {
+            mobConfig.budgetScope = BudgetScope.CHUNK;
+        }
+    }
+
+    static void validateItem(ItemDropConfig itemDrop) {
+        // Ensure drop chance is between 0 and 1
+        if (itemDrop.dropChance < 0) {
+            LOGGER.warn("Invalid drop chance {} for item {}, setting to 0",
+                    itemDrop.dropChance, itemDrop.itemId);
+            itemDrop.dropChance = 0;
+        }
+        if (itemDrop.dropChance > 1) {
+            LOGGER.warn("Invalid drop chance {} for item {}, setting to 1",
+                    itemDrop.dropChance, itemDrop.itemId);
+            itemDrop.dropChance = 1;
+        }
+
+        // Ensure count values are positive
+        if (itemDrop.minCount < 1) {
+            LOGGER.warn("Invalid minCount {} for item {}, setting to 1",
+                    itemDrop.minCount, itemDrop.itemId);
+            itemDrop.minCount = 1;
+        }
+        if (itemDrop.maxCount < itemDrop.minCount) {
+            LOGGER.warn("maxCount {} less than minCount {} for item {}, fixing",
+                    itemDrop.maxCount, itemDrop.minCount, itemDrop.itemId);
+            itemDrop.maxCount = itemDrop.minCount;
+        }
+
+        if (itemDrop.budgetPerMinute < 0) {
+            LOGGER.warn("Invalid budget {} for item {}, disabling budget",
+                    itemDrop.budgetPerMinute, itemDrop.itemId);
+            itemDrop.budgetPerMinute = 0;
+        }
+        if (itemDrop.budgetScope == null) {
+            itemDrop.budgetScope = BudgetScope.CHUNK;
+        }
+
+        DropConditionConfig conditions = itemDrop.conditions;
+        if (conditions != null) {
+            conditions.dimensions = conditions.dimensions != null ? conditions.dimensions : new ArrayList<>();
+            conditions.dimensions.removeIf(id -> id == null || id.isBlank());
+            conditions.biomes = conditions.biomes != null ? conditions.biomes : new ArrayList<>();
+            conditions.biomes.removeIf(id -> id == null || id.isBlank());
+            if (conditions.minDifficulty == null) {
+                conditions.minDifficulty = DifficultyCondition.ANY;
+            }
+            if (conditions.time == null) {
+                conditions.time = TimeCondition.ANY;
+            }
+            if (conditions.weather == null) {
+                conditions.weather = WeatherCondition.ANY;
             }
         }
     }
@@ -200,9 +375,61 @@ public class ModConfig {
         }
     }
 
+    /**
+     * Cara drop diterapkan ke mob
+     */
+    public enum DropEngine {
+        /** Pool ditambahkan lewat LootTableEvents.MODIFY, perubahan butuh resource reload */
+        LOOT_TABLE,
+        /** Drop di-roll dari event kematian entity, perubahan langsung aktif tanpa reload */
+        RUNTIME
+    }
+
+    /**
+     * Key yang dipakai untuk menghitung budget drop
+     */
+    public enum BudgetScope {
+        /** Budget dihitung per chunk tempat mob mati */
+        CHUNK,
+        /** Budget dihitung per player yang membunuh */
+        PLAYER
+    }
+
+    /**
+     * Difficulty minimal agar item drop
+     */
+    public enum DifficultyCondition {
+        ANY,
+        EASY,
+        NORMAL,
+        HARD
+    }
+
+    public enum TimeCondition {
+        ANY,
+        DAY,
+        NIGHT
+    }
+
+    public enum WeatherCondition {
+        ANY,
+        CLEAR,
+        /** Hujan atau badai */
+        RAIN,
+        THUNDER
+    }
+
     public static class MobDropConfig {
+        // Id persis (minecraft:evoker) atau selector: #minecraft:raiders, modid:*, @monster
         public String mobId = "";
         public boolean enabled = true;
+        // Semua item digabung dalam satu pool dengan satu roll (alias table)
+        public boolean dropGroup = false;
+        // Masukkan drop langsung ke inventory player yang membunuh (engine RUNTIME)
+        public boolean deliverToInventory = false;
+        // Maksimal kill per menit yang menghasilkan drop, 0 = tanpa batas
+        public int budgetPerMinute = 0;
+        public BudgetScope budgetScope = BudgetScope.CHUNK;
         public List<ItemDropConfig> itemDrops = new ArrayList<>();
 
         public MobDropConfig() {
@@ -213,6 +440,10 @@ public class ModConfig {
             MobDropConfig copy = new MobDropConfig();
             copy.mobId = this.mobId;
             copy.enabled = this.enabled;
+            copy.dropGroup = this.dropGroup;
+            copy.deliverToInventory = this.deliverToInventory;
+            copy.budgetPerMinute = this.budgetPerMinute;
+            copy.budgetScope = this.budgetScope;
             copy.itemDrops = new ArrayList<>();
             for (ItemDropConfig item : this.itemDrops) {
                 copy.itemDrops.add(item.copy());
@@ -228,6 +459,11 @@ public class ModConfig {
         public int maxCount = 1;
         public float dropChance = 1.0f;
         public boolean applyLooting = true;
+        // Maksimal drop item ini per menit, 0 = tanpa batas
+        public int budgetPerMinute = 0;
+        public BudgetScope budgetScope = BudgetScope.CHUNK;
+        // Kondisi tempat/waktu kill, null = selalu drop
+        public DropConditionConfig conditions = null;
 
         public ItemDropConfig() {
             // Tidak ada default - biarkan kosong
@@ -241,7 +477,34 @@ public class ModConfig {
             copy.maxCount = this.maxCount;
             copy.dropChance = this.dropChance;
             copy.applyLooting = this.applyLooting;
+            copy.budgetPerMinute = this.budgetPerMinute;
+            copy.budgetScope = this.budgetScope;
+            copy.conditions = this.conditions != null ? this.conditions.copy() : null;
+            return copy;
+        }
+    }
+
+    /**
+     * Kondisi untuk satu item drop. Semua kondisi harus terpenuhi,
+     * list kosong / ANY berarti tidak dibatasi.
+     */
+    public static class DropConditionConfig {
+        // Id dimensi, mis. minecraft:the_nether
+        public List<String> dimensions = new ArrayList<>();
+        // Id biome atau tag biome (#minecraft:is_forest)
+        public List<String> biomes = new ArrayList<>();
+        public DifficultyCondition minDifficulty = DifficultyCondition.ANY;
+        public TimeCondition time = TimeCondition.ANY;
+        public WeatherCondition weather = WeatherCondition.ANY;
+
+        public DropConditionConfig copy() {
+            DropConditionConfig copy = new DropConditionConfig();
+            copy.dimensions = new ArrayList<>(this.dimensions);
+            copy.biomes = new ArrayList<>(this.biomes);
+            copy.minDifficulty = this.minDifficulty;
+            copy.time = this.time;
+            copy.weather = this.weather;
             return copy;
         }
     }
-}
\ No newline at end of file
+}
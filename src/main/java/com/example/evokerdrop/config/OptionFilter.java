@@ -0,0 +1,119 @@
+package com.example.evokerdrop.config;
+
+import com.example.evokerdrop.util.SearchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Filter option untuk SelectionScreen. Semua option di-lowercase sekali di konstruktor,
+ * hasil filter disimpan sebagai array index ke tabel itu. Kalau query baru mengandung
+ * query sebelumnya (mis. "dia" -> "diam"), hanya option yang cocok sebelumnya yang dicek
+ * ulang; scan penuh hanya terjadi saat query dihapus / diganti. Dengan SearchIndex,
+ * semua match disimpan di samping top K yang ditampilkan, jadi rank juga dipersempit.
+ */
+final class OptionFilter {
+    // Berapa option di-scan sebelum cek pembatalan lagi
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    private final List<String> options;
+    private final String[] lowerOptions;
+    // null untuk list biasa
+    private final SearchIndex searchIndex;
+    private final int rankedLimit;
+
+    OptionFilter(List<String> options, SearchIndex searchIndex, int rankedLimit) {
+        this.options = options;
+        this.lowerOptions = new String[options.size()];
+        for (int i = 0; i < lowerOptions.length; i++) {
+            lowerOptions[i] = options.get(i).toLowerCase(Locale.ROOT);
+        }
+        // Index hasil SearchIndex harus menunjuk ke list yang sama
+        this.searchIndex = searchIndex != null && searchIndex.size() == options.size() ? searchIndex : null;
+        this.rankedLimit = rankedLimit;
+    }
+
+    /**
+     * Semua option, urutan asli
+     */
+    Result all() {
+        int[] indices = new int[lowerOptions.length];
+        Arrays.setAll(indices, i -> i);
+        return new Result("", indices, indices);
+    }
+
+    /**
+     * Hasil filter untuk query ini. previous boleh null; kalau query baru memperluas
+     * query previous, hanya index di previous yang dicek.
+     */
+    Result apply(String search, Result previous) {
+        return apply(search, previous, NEVER_CANCELLED);
+    }
+
+    /**
+     * Sama seperti apply(search, previous), tapi berhenti dan mengembalikan null
+     * begitu cancelled bernilai true. Aman dipanggil dari thread lain: tabel option
+     * tidak pernah berubah dan Result tidak pernah dimodifikasi.
+     */
+    Result apply(String search, Result previous, BooleanSupplier cancelled) {
+        if (searchIndex != null && !search.isBlank()) {
+            String query = SearchIndex.normalize(search);
+            // Semua match (bukan hanya top K yang tampil) dipersempit, lalu di-rank ulang
+            int[] matches = previous != null && query.contains(previous.query())
+                    ? searchIndex.narrow(previous.matches(), query)
+                    : searchIndex.matches(query);
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            int[] ranked = searchIndex.rankTop(matches, query, rankedLimit);
+            return cancelled.getAsBoolean() ? null : new Result(query, ranked, matches);
+        }
+
+        String query = search.toLowerCase(Locale.ROOT);
+        int[] source;
+        int sourceCount;
+        if (previous != null && query.contains(previous.query())) {
+            source = previous.matches();
+            sourceCount = source.length;
+        } else {
+            source = null;
+            sourceCount = lowerOptions.length;
+        }
+
+        int[] matches = new int[sourceCount];
+        int count = 0;
+        for (int i = 0; i < sourceCount; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            int index = source != null ? source[i] : i;
+            if (lowerOptions[index].contains(query)) {
+                matches[count++] = index;
+            }
+        }
+        int[] result = count == matches.length ? matches : Arrays.copyOf(matches, count);
+        return new Result(query, result, result);
+    }
+
+    int size() {
+        return lowerOptions.length;
+    }
+
+    String option(int index) {
+        return options.get(index);
+    }
+
+    /**
+     * @param query   query (lowercase) yang menghasilkan ini
+     * @param indices index ke list option, sesuai urutan tampil (top K kalau lewat SearchIndex)
+     * @param matches semua option yang cocok, dasar untuk mempersempit query berikutnya
+     */
+    record Result(String query, int[] indices, int[] matches) {
+        int size() {
+            return indices.length;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.evokerdrop.config;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.narration.NarrationMessageBuilder;
+import net.minecraft.client.gui.widget.ClickableWidget;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Language;
+import net.minecraft.util.math.MathHelper;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * List option yang di-virtualisasi untuk SelectionScreen. Hanya ada satu pool row
+ * seukuran area yang terlihat; saat scroll, row yang keluar layar di-bind ulang ke
+ * option berikutnya. Label di-format dan di-cache sekali per option, jadi scroll
+ * (wheel, drag scrollbar, page up/down) tidak membuat object baru per frame.
+ */
+final class OptionListWidget extends ClickableWidget {
+    private static final int ROW_HEIGHT = 20;
+    private static final int ROW_SPACING = 2;
+    static final int ROW_STRIDE = ROW_HEIGHT + ROW_SPACING;
+    private static final int SCROLLBAR_WIDTH = 6;
+    private static final int SCROLLBAR_GAP = 4;
+    private static final int MIN_THUMB_HEIGHT = 16;
+    // Pixel per notch mouse wheel
+    private static final double SCROLL_STEP = ROW_STRIDE * 1.5;
+
+    private final TextRenderer textRenderer;
+    private final OptionFilter filter;
+    private final Function<String, String> formatter;
+    private final Consumer<String> onSelect;
+
+    // Label per index option (bukan per posisi), diisi saat pertama kali terlihat
+    private final OrderedText[] labels;
+    private final int[] labelWidths;
+
+    // Pool row tetap: row yang terlihat + 1 untuk row yang terpotong di tepi
+    private final Row[] rows;
+    private int boundFirstPosition = -1;
+
+    private OptionFilter.Result result;
+    private double scroll;
+    private double targetScroll;
+    private boolean draggingScrollbar;
+
+    OptionListWidget(TextRenderer textRenderer, int x, int y, int width, int height, OptionFilter filter,
+                     Function<String, String> formatter, Consumer<String> onSelect) {
+        super(x, y, width, height, Text.empty());
+        this.textRenderer = textRenderer;
+        this.filter = filter;
+        this.formatter = formatter;
+        this.onSelect = onSelect;
+        this.labels = new OrderedText[filter.size()];
+        this.labelWidths = new int[filter.size()];
+
+        this.rows = new Row[height / ROW_STRIDE + 2];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Row();
+        }
+    }
+
+    /**
+     * Ganti isi list dengan hasil filter baru, scroll kembali ke atas
+     */
+    void setResult(OptionFilter.Result result) {
+        this.result = result;
+        this.scroll = 0;
+        this.targetScroll = 0;
+        this.boundFirstPosition = -1;
+    }
+
+    /**
+     * Scroll halus (di-ease di render) sebanyak pixel ini
+     */
+    void scrollBy(double pixels) {
+        targetScroll = clampScroll(targetScroll + pixels);
+    }
+
+    private void scrollTo(double pixels) {
+        targetScroll = clampScroll(pixels);
+        scroll = targetScroll;
+    }
+
+    private double clampScroll(double pixels) {
+        return MathHelper.clamp(pixels, 0, getMaxScroll());
+    }
+
+    private int getMaxScroll() {
+        return Math.max(0, getContentHeight() - height);
+    }
+
+    private int getContentHeight() {
+        return result == null ? 0 : result.size() * ROW_STRIDE - ROW_SPACING;
+    }
+
+    private int getRowWidth() {
+        return width - SCROLLBAR_WIDTH - SCROLLBAR_GAP;
+    }
+
+    private int getScrollbarX() {
+        return getX() + width - SCROLLBAR_WIDTH;
+    }
+
+    private int getThumbHeight() {
+        int contentHeight = getContentHeight();
+        if (contentHeight <= height) {
+            return height;
+        }
+        return Math.max(MIN_THUMB_HEIGHT, (int) ((long) height * height / contentHeight));
+    }
+
+    /**
+     * Posisi (index di hasil filter) pada koordinat y ini, -1 kalau di celah atau di luar list
+     */
+    private int positionAt(double mouseY) {
+        double offset = mouseY - getY() + scroll;
+        int position = (int) (offset / ROW_STRIDE);
+        if (offset < 0 || position >= result.size() || offset - position * ROW_STRIDE >= ROW_HEIGHT) {
+            return -1;
+        }
+        return position;
+    }
+
+    /**
+     * Bind ulang pool row hanya kalau row pertama yang terlihat berubah
+     */
+    private void bindRows(int firstPosition) {
+        if (firstPosition == boundFirstPosition) {
+            return;
+        }
+        boundFirstPosition = firstPosition;
+        int[] indices = result.indices();
+        for (int i = 0; i < rows.length; i++) {
+            int position = firstPosition + i;
+            if (position < indices.length) {
+                rows[i].bind(position, indices[position]);
+            } else {
+                rows[i].unbind();
+            }
+        }
+    }
+
+    private OrderedText getLabel(int optionIndex) {
+        OrderedText label = labels[optionIndex];
+        if (label == null) {
+            Text text = Text.literal(formatter.apply(filter.option(optionIndex)));
+            label = Language.getInstance().reorder(textRenderer.trimToWidth(text, getRowWidth() - 8));
+            labels[optionIndex] = label;
+            labelWidths[optionIndex] = textRenderer.getWidth(label);
+        }
+        return label;
+    }
+
+    @Override
+    protected void renderWidget(DrawContext context, int mouseX, int mouseY, float delta) {
+        if (result == null) {
+            return;
+        }
+
+        if (scroll != targetScroll) {
+            scroll += (targetScroll - scroll) * 0.5;
+            if (Math.abs(targetScroll - scroll) < 0.5) {
+                scroll = targetScroll;
+            }
+        }
+
+        int scrollPixels = (int) scroll;
+        bindRows(scrollPixels / ROW_STRIDE);
+        int rowX = getX();
+        int rowWidth = getRowWidth();
+        int hoveredPosition = isHovered() && mouseX < rowX + rowWidth ? positionAt(mouseY) : -1;
+
+        context.enableScissor(getX(), getY(), getX() + width, getY() + height);
+        for (Row row : rows) {
+            if (row.position < 0) {
+                break;
+            }
+            int rowY = getY() + row.position * ROW_STRIDE - scrollPixels;
+            boolean hovered = row.position == hoveredPosition;
+            context.fill(rowX, rowY, rowX + rowWidth, rowY + ROW_HEIGHT, hovered ? 0xA0505050 : 0x80000000);
+            if (hovered) {
+                context.drawBorder(rowX, rowY, rowWidth, ROW_HEIGHT, 0xFFFFFFFF);
+            }
+            context.drawTextWithShadow(textRenderer, row.label,
+                    rowX + (rowWidth - labelWidths[row.optionIndex]) / 2,
+                    rowY + (ROW_HEIGHT - 8) / 2,
+                    hovered ? 0xFFFFA0 : 0xFFFFFF);
+        }
+        context.disableScissor();
+
+        if (getMaxScroll() > 0) {
+            int barX = getScrollbarX();
+            int thumbHeight = getThumbHeight();
+            int thumbY = getY() + (int) (scroll * (height - thumbHeight) / getMaxScroll());
+            context.fill(barX, getY(), barX + SCROLLBAR_WIDTH, getY() + height, 0x80000000);
+            context.fill(barX, thumbY, barX + SCROLLBAR_WIDTH, thumbY + thumbHeight,
+                    draggingScrollbar ? 0xFFFFFFFF : 0xFFA0A0A0);
+        }
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (!active || !visible || button != GLFW.GLFW_MOUSE_BUTTON_LEFT || result == null
+                || !isMouseOver(mouseX, mouseY)) {
+            return false;
+        }
+
+        if (mouseX >= getScrollbarX()) {
+            if (getMaxScroll() > 0) {
+                // Klik di track: pusatkan thumb ke posisi mouse, lalu lanjut drag
+                draggingScrollbar = true;
+                double thumbHeight = getThumbHeight();
+                double ratio = (mouseY - getY() - thumbHeight / 2) / (height - thumbHeight);
+                scrollTo(ratio * getMaxScroll());
+            }
+            return true;
+        }
+
+        int position = positionAt(mouseY);
+        if (position >= 0 && mouseX < getX() + getRowWidth()) {
+            playDownSound(MinecraftClient.getInstance().getSoundManager());
+            onSelect.accept(filter.option(result.indices()[position]));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        if (!draggingScrollbar) {
+            return false;
+        }
+        int track = height - getThumbHeight();
+        if (track > 0) {
+            scrollTo(targetScroll + deltaY * getMaxScroll() / track);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        boolean wasDragging = draggingScrollbar;
+        draggingScrollbar = false;
+        return wasDragging;
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        if (verticalAmount == 0) {
+            return false;
+        }
+        scrollBy(-verticalAmount * SCROLL_STEP);
+        return true;
+    }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        switch (keyCode) {
+            case GLFW.GLFW_KEY_PAGE_UP -> scrollBy(-(height - ROW_STRIDE));
+            case GLFW.GLFW_KEY_PAGE_DOWN -> scrollBy(height - ROW_STRIDE);
+            case GLFW.GLFW_KEY_UP -> scrollBy(-ROW_STRIDE);
+            case GLFW.GLFW_KEY_DOWN -> scrollBy(ROW_STRIDE);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void appendClickableNarrations(NarrationMessageBuilder builder) {
+        appendDefaultNarrations(builder);
+    }
+
+    /**
+     * Satu row di pool, di-bind ulang ke option lain saat scroll
+     */
+    private final class Row {
+        private int position = -1;
+        private int optionIndex;
+        private OrderedText label;
+
+        void bind(int position, int optionIndex) {
+            this.position = position;
+            this.optionIndex = optionIndex;
+            this.label = getLabel(optionIndex);
+        }
+
+        void unbind() {
+            this.position = -1;
+            this.label = null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.evokerdrop.config;
 
 import com.example.evokerdrop.util.MinecraftRegistryHelper;
+import com.example.evokerdrop.util.SearchIndex;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -8,29 +9,52 @@ import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.text.Text;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 public class SelectionScreen extends Screen {
     private final Screen parent;
     private final String title;
-    private final List<String> allOptions;
-    private List<String> filteredOptions;
+    private final OptionFilter filter;
+    private OptionFilter.Result filtered;
     private final Consumer<String> onSelect;
 
     private TextFieldWidget searchField;
-    private int scrollOffset = 0;
-    private static final int ITEMS_PER_PAGE = 15;
-    private static final int BUTTON_HEIGHT = 20;
-    private static final int BUTTON_SPACING = 2;
+    private OptionListWidget list;
+    // Di-cache, tidak dibuat ulang setiap frame
+    private String resultsText;
+    private static final int LIST_TOP = 50;
+    private static final int LIST_BOTTOM_MARGIN = 55;
+    private static final int LIST_SCROLLBAR_SPACE = 10;
+    // Hasil teratas yang ditampilkan saat mencari lewat SearchIndex
+    private static final int MAX_RANKED_RESULTS = 200;
+    // List sekecil ini difilter langsung, tidak perlu menunggu frame berikutnya
+    private static final int ASYNC_SEARCH_THRESHOLD = 4096;
+
+    // Virtual thread per query, query lama dibatalkan lewat searchGeneration
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("EvokerDrops-Search-", 0).factory());
+
+    // Naik setiap keystroke; query dengan generation lama dibuang
+    private volatile long searchGeneration;
+    private Future<?> pendingSearch;
 
     public SelectionScreen(Screen parent, String title, List<String> options, Consumer<String> onSelect) {
+        this(parent, title, options, null, onSelect);
+    }
+
+    private SelectionScreen(Screen parent, String title, List<String> options, SearchIndex searchIndex,
+                            Consumer<String> onSelect) {
         super(Text.literal(title));
         this.parent = parent;
         this.title = title;
-        this.allOptions = options;
-        this.filteredOptions = new ArrayList<>(options);
+        // searchIndex null untuk list biasa, pencarian lalu memakai scan contains
+        this.filter = new OptionFilter(options, searchIndex, MAX_RANKED_RESULTS);
+        this.filtered = filter.all();
+        this.resultsText = filtered.size() + " results";
         this.onSelect = onSelect;
     }
 
@@ -49,6 +73,23 @@ public class SelectionScreen extends Screen {
         searchField.setChangedListener(this::onSearchChanged);
         this.addSelectableChild(searchField);
 
+        // Option list, row di-recycle saat scroll
+        list = new OptionListWidget(
+                this.textRenderer,
+                this.width / 2 - 150,
+                LIST_TOP,
+                300 + LIST_SCROLLBAR_SPACE,
+                Math.max(OptionListWidget.ROW_STRIDE, this.height - LIST_TOP - LIST_BOTTOM_MARGIN),
+                filter,
+                this::formatOption,
+                option -> {
+                    onSelect.accept(option);
+                    this.close();
+                }
+        );
+        list.setResult(filtered);
+        this.addDrawableChild(list);
+
         // Cancel button
         this.addDrawableChild(ButtonWidget.builder(
                         Text.literal("Cancel"),
@@ -68,92 +109,51 @@ public class SelectionScreen extends Screen {
                 .dimensions(this.width / 2 + 5, this.height - 30, 150, 20)
                 .build());
 
-        updateButtons();
+        this.setInitialFocus(searchField);
     }
 
     private void onSearchChanged(String search) {
-        filteredOptions.clear();
-        String lowerSearch = search.toLowerCase();
+        long generation = cancelPendingSearch();
 
-        for (String option : allOptions) {
-            if (option.toLowerCase().contains(lowerSearch)) {
-                filteredOptions.add(option);
-            }
+        // Query yang memperluas query sebelumnya hanya mempersempit hasil sebelumnya
+        OptionFilter.Result previous = filtered;
+        if (filter.size() < ASYNC_SEARCH_THRESHOLD || this.client == null) {
+            applyResult(filter.apply(search, previous));
+            return;
         }
 
-        scrollOffset = 0;
-        updateButtons();
+        MinecraftClient client = this.client;
+        pendingSearch = SEARCH_EXECUTOR.submit(() -> {
+            OptionFilter.Result result = filter.apply(search, previous, () -> searchGeneration != generation);
+            if (result != null) {
+                // Dipasang di render thread pada frame berikutnya, kecuali sudah ada keystroke baru
+                client.execute(() -> {
+                    if (searchGeneration == generation) {
+                        pendingSearch = null;
+                        applyResult(result);
+                    }
+                });
+            }
+        });
     }
 
-    private void updateButtons() {
-        // Remove old selection buttons
-        this.clearChildren();
-        this.addSelectableChild(searchField);
-
-        // Re-add cancel and clear buttons
-        this.addDrawableChild(ButtonWidget.builder(
-                        Text.literal("Cancel"),
-                        button -> this.close()
-                )
-                .dimensions(this.width / 2 - 155, this.height - 30, 150, 20)
-                .build());
-
-        this.addDrawableChild(ButtonWidget.builder(
-                        Text.literal("Clear"),
-                        button -> {
-                            searchField.setText("");
-                            onSearchChanged("");
-                        }
-                )
-                .dimensions(this.width / 2 + 5, this.height - 30, 150, 20)
-                .build());
-
-        // Add selection buttons
-        int startY = 50;
-        int buttonWidth = 300;
-        int visibleCount = Math.min(ITEMS_PER_PAGE, filteredOptions.size() - scrollOffset);
-
-        for (int i = 0; i < visibleCount; i++) {
-            int index = i + scrollOffset;
-            if (index >= filteredOptions.size()) break;
-
-            String option = filteredOptions.get(index);
-            int yPos = startY + i * (BUTTON_HEIGHT + BUTTON_SPACING);
-
-            this.addDrawableChild(ButtonWidget.builder(
-                            Text.literal(formatOption(option)),
-                            button -> {
-                                onSelect.accept(option);
-                                this.close();
-                            }
-                    )
-                    .dimensions(this.width / 2 - buttonWidth / 2, yPos, buttonWidth, BUTTON_HEIGHT)
-                    .build());
-        }
-
-        // Scroll buttons
-        if (scrollOffset > 0) {
-            this.addDrawableChild(ButtonWidget.builder(
-                            Text.literal("▲ Up"),
-                            button -> {
-                                scrollOffset = Math.max(0, scrollOffset - 1);
-                                updateButtons();
-                            }
-                    )
-                    .dimensions(this.width / 2 - 355, 50, 60, 20)
-                    .build());
+    /**
+     * Batalkan query yang masih berjalan, kembalikan generation untuk query baru
+     */
+    private long cancelPendingSearch() {
+        long generation = ++searchGeneration;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+            pendingSearch = null;
         }
+        return generation;
+    }
 
-        if (scrollOffset + ITEMS_PER_PAGE < filteredOptions.size()) {
-            this.addDrawableChild(ButtonWidget.builder(
-                            Text.literal("▼ Down"),
-                            button -> {
-                                scrollOffset = Math.min(filteredOptions.size() - ITEMS_PER_PAGE, scrollOffset + 1);
-                                updateButtons();
-                            }
-                    )
-                    .dimensions(this.width / 2 - 355, 80, 60, 20)
-                    .build());
+    private void applyResult(OptionFilter.Result result) {
+        filtered = result;
+        resultsText = filtered.size() + " results";
+        if (list != null) {
+            list.setResult(result);
         }
     }
 
@@ -194,8 +194,6 @@ public class SelectionScreen extends Screen {
         searchField.render(context, mouseX, mouseY, delta);
 
         // Results count
-        String resultsText = "Showing " + Math.min(ITEMS_PER_PAGE, filteredOptions.size() - scrollOffset)
-                + " of " + filteredOptions.size() + " results";
         context.drawTextWithShadow(
                 this.textRenderer,
                 resultsText,
@@ -209,20 +207,33 @@ public class SelectionScreen extends Screen {
 
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        if (verticalAmount > 0) {
-            // Scroll up
-            scrollOffset = Math.max(0, scrollOffset - 1);
-            updateButtons();
-            return true;
-        } else if (verticalAmount < 0) {
-            // Scroll down
-            scrollOffset = Math.min(filteredOptions.size() - ITEMS_PER_PAGE, scrollOffset + 1);
-            updateButtons();
+        // Scroll list di mana pun mouse berada, seperti sebelumnya
+        if (list != null && list.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount)) {
             return true;
         }
         return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
     }
 
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        // Page up/down dan panah tetap menggulir list walau fokus di search field
+        if (list != null && list.keyPressed(keyCode, scanCode, modifiers)) {
+            return true;
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        boolean handled = list != null && list.mouseReleased(mouseX, mouseY, button);
+        if (handled) {
+            // Selesai drag scrollbar, ketikan kembali ke search field
+            this.setFocused(searchField);
+            return true;
+        }
+        return super.mouseReleased(mouseX, mouseY, button);
+    }
+
     @Override
     public void close() {
         if (this.client != null) {
@@ -230,6 +241,12 @@ public class SelectionScreen extends Screen {
         }
     }
 
+    @Override
+    public void removed() {
+        // Hasil yang datang setelah screen ditutup dibuang
+        cancelPendingSearch();
+    }
+
     @Override
     public boolean shouldPause() {
         return false;
@@ -237,12 +254,12 @@ public class SelectionScreen extends Screen {
 
     // Static factory methods
     public static SelectionScreen createMobSelection(Screen parent, Consumer<String> onSelect) {
-        List<String> mobs = MinecraftRegistryHelper.getAllMobIds();
-        return new SelectionScreen(parent, "Select Mob", mobs, onSelect);
+        SearchIndex index = MinecraftRegistryHelper.getMobSearchIndex();
+        return new SelectionScreen(parent, "Select Mob", MinecraftRegistryHelper.getAllMobIds(), index, onSelect);
     }
 
     public static SelectionScreen createItemSelection(Screen parent, Consumer<String> onSelect) {
-        List<String> items = MinecraftRegistryHelper.getAllItemIds();
-        return new SelectionScreen(parent, "Select Item", items, onSelect);
+        SearchIndex index = MinecraftRegistryHelper.getItemSearchIndex();
+        return new SelectionScreen(parent, "Select Item", MinecraftRegistryHelper.getAllItemIds(), index, onSelect);
     }
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.example.evokerdrop.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Layout config opsional: satu file per mob di config/evokerdrops/*.json.
+ * Aktif kalau folder tersebut ada. Setiap file dilacak (mtime, ukuran, CRC32),
+ * jadi reload hanya membaca + parse ulang shard yang berubah, dan save hanya
+ * menulis shard yang isinya berbeda.
+ */
+final class ShardedConfigStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Shards");
+    static final String SHARD_DIR_NAME = "evokerdrops";
+    private static final String SHARD_SUFFIX = ".json";
+
+    private static final Map<Path, ShardedConfigStore> STORES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    // Shard yang sudah dibaca / ditulis, per path
+    private final Map<Path, Shard> shards = new HashMap<>();
+    // File asli untuk setiap mob, supaya nama file buatan user tetap dipakai saat save
+    private final Map<String, Path> pathByMobId = new HashMap<>();
+    private boolean synced;
+
+    private ShardedConfigStore(Path directory) {
+        this.directory = directory;
+    }
+
+    static ShardedConfigStore forConfigFile(File configFile) {
+        Path directory = configFile.toPath().toAbsolutePath().resolveSibling(SHARD_DIR_NAME);
+        return STORES.computeIfAbsent(directory, ShardedConfigStore::new);
+    }
+
+    boolean isEnabled() {
+        return Files.isDirectory(directory);
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Semua mob dari folder shard, urut nama file. Shard yang mtime + ukurannya
+     * tidak berubah sejak terakhir dibaca tidak disentuh sama sekali.
+     */
+    synchronized List<ModConfig.MobDropConfig> load() {
+        List<ModConfig.MobDropConfig> mobs = new ArrayList<>();
+        Set<Path> seen = new HashSet<>();
+        int parsed = 0;
+
+        for (Path file : listShards()) {
+            seen.add(file);
+            Shard previous = shards.get(file);
+            Shard current;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long modified = attributes.lastModifiedTime().toMillis();
+                long size = attributes.size();
+
+                if (previous != null && previous.modified == modified && previous.size == size) {
+                    current = previous;
+                } else {
+                    byte[] content = Files.readAllBytes(file);
+                    long checksum = checksum(content);
+                    if (previous != null && previous.checksum == checksum) {
+                        current = new Shard(modified, size, checksum, previous.mob);
+                    } else {
+                        current = new Shard(modified, size, checksum, parse(content));
+                        parsed++;
+                    }
+                }
+            } catch (Exception e) {
+                // Shard rusak / setengah ditulis: pakai isi terakhir yang valid kalau ada
+                LOGGER.warn("Ignoring invalid shard {}: {}", file.getFileName(), e.getMessage());
+                current = previous;
+            }
+
+            if (current == null || current.mob == null) {
+                continue;
+            }
+            shards.put(file, current);
+            if (current.mob.mobId != null) {
+                pathByMobId.put(current.mob.mobId, file);
+            }
+            mobs.add(current.mob.copy());
+        }
+
+        removeMissing(seen);
+        synced = true;
+        LOGGER.info("Loaded {} mob shard(s) from {}, {} re-parsed", mobs.size(), directory, parsed);
+        return mobs;
+    }
+
+    /**
+     * True kalau isi folder masih sama dengan yang terakhir dibaca / ditulis (cek mtime + ukuran saja)
+     */
+    synchronized boolean isUpToDate() {
+        if (!synced) {
+            return false;
+        }
+        List<Path> files = listShards();
+        if (files.size() != shards.size()) {
+            return false;
+        }
+        for (Path file : files) {
+            Shard shard = shards.get(file);
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (shard == null || shard.modified != attributes.lastModifiedTime().toMillis()
+                        || shard.size != attributes.size()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tulis setiap mob ke shard-nya, hanya kalau isinya berubah. Shard milik mob
+     * yang sudah dihapus ikut dihapus.
+     */
+    synchronized void save(List<ModConfig.MobDropConfig> mobs) throws IOException {
+        if (!synced) {
+            // Belum pernah dibaca (mis. start dari cache): perlu mapping mob -> file dulu
+            load();
+        }
+
+        Set<Path> written = new HashSet<>();
+        int changed = 0;
+        for (ModConfig.MobDropConfig mob : mobs) {
+            Path file = pathByMobId.get(mob.mobId);
+            if (file == null || written.contains(file)) {
+                file = directory.resolve(fileNameFor(mob.mobId, written));
+            }
+            written.add(file);
+
+            String json = ModConfig.toJson(mob);
+            long checksum = checksum(json.getBytes(StandardCharsets.UTF_8));
+            Shard previous = shards.get(file);
+            if (previous != null && previous.checksum == checksum && Files.exists(file)) {
+                continue;
+            }
+
+            ModConfig.writeAtomically(file, writer -> writer.write(json),
+                    ignored -> { });
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            shards.put(file, new Shard(attributes.lastModifiedTime().toMillis(), attributes.size(),
+                    checksum, mob.copy()));
+            pathByMobId.put(mob.mobId, file);
+            changed++;
+        }
+
+        int removed = 0;
+        for (Path file : new ArrayList<>(shards.keySet())) {
+            if (!written.contains(file)) {
+                Files.deleteIfExists(file);
+                removed++;
+            }
+        }
+        removeMissing(written);
+
+        LOGGER.debug("Saved mob shards: {} written, {} removed, {} unchanged",
+                changed, removed, mobs.size() - changed);
+    }
+
+    /**
+     * Hash isi semua shard (nama + bytes), untuk validasi ConfigCache
+     */
+    long contentHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Path file : listShards()) {
+                digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(file));
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (IOException e) {
+            // Cache dianggap tidak valid, config dibaca ulang dari JSON
+            return System.nanoTime();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void removeMissing(Set<Path> keep) {
+        shards.keySet().retainAll(keep);
+        pathByMobId.values().retainAll(keep);
+    }
+
+    private List<Path> listShards() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SHARD_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not list {}: {}", directory, e.getMessage());
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static ModConfig.MobDropConfig parse(byte[] content) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            return ConfigReader.readMob(reader);
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /**
+     * minecraft:evoker -> minecraft_evoker.json, diberi angka kalau bentrok
+     */
+    private String fileNameFor(String mobId, Set<Path> taken) {
+        String base = (mobId != null ? mobId : "mob").replace(':', '_').replaceAll("[^a-z0-9_.-]", "_");
+        String name = base + SHARD_SUFFIX;
+        for (int i = 2; taken.contains(directory.resolve(name)) || isOwnedByOtherMob(name, mobId); i++) {
+            name = base + "_" + i + SHARD_SUFFIX;
+        }
+        return name;
+    }
+
+    private boolean isOwnedByOtherMob(String name, String mobId) {
+        Shard shard = shards.get(directory.resolve(name));
+        return shard != null && shard.mob.mobId != null && !shard.mob.mobId.equals(mobId)
+                && pathByMobId.get(shard.mob.mobId) != null;
+    }
+
+    private record Shard(long modified, long size, long checksum, ModConfig.MobDropConfig mob) {
+    }
+}
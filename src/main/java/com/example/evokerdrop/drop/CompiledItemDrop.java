@@ -0,0 +1,99 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import com.example.evokerdrop.config.ModConfig;
+
+import java.util.Objects;
+
+/**
+ * Versi terkompilasi dari satu ItemRule yang sudah enabled
+ */
+public final class CompiledItemDrop {
+    // Posisi item ini di ResolvedRegistries (unik per DropIndex)
+    private final int slot;
+    private final String itemId;
+    private final int minCount;
+    private final int maxCount;
+    private final float dropChance;
+    private final boolean applyLooting;
+    // null kalau item ini tidak punya budget
+    private final DropBudget budget;
+    private final DropConditions conditions;
+    // Tidak ikut equals: counter dipakai bersama semua index
+    private final DropMetrics.ItemStats stats;
+
+    CompiledItemDrop(ConfigSnapshot.ItemRule rule, int slot, DropMetrics.ItemStats stats) {
+        this.slot = slot;
+        this.itemId = rule.itemId();
+        this.minCount = rule.minCount();
+        this.maxCount = rule.maxCount();
+        this.dropChance = rule.dropChance();
+        this.applyLooting = rule.applyLooting();
+        this.budget = DropBudget.of(rule.budgetPerMinute(), rule.budgetScope());
+        this.conditions = DropConditions.compile(rule.conditions());
+        this.stats = stats;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public int getMinCount() {
+        return minCount;
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    public float getDropChance() {
+        return dropChance;
+    }
+
+    public boolean isApplyLooting() {
+        return applyLooting;
+    }
+
+    public DropBudget getBudget() {
+        return budget;
+    }
+
+    public DropConditions getConditions() {
+        return conditions;
+    }
+
+    public DropMetrics.ItemStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompiledItemDrop other)) return false;
+        return minCount == other.minCount
+                && maxCount == other.maxCount
+                && Float.compare(dropChance, other.dropChance) == 0
+                && applyLooting == other.applyLooting
+                && budgetCapacity() == other.budgetCapacity()
+                && budgetScope() == other.budgetScope()
+                && conditions.equals(other.conditions)
+                && itemId.equals(other.itemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemId, minCount, maxCount, dropChance, applyLooting, budgetCapacity(), budgetScope(), conditions);
+    }
+
+    private int budgetCapacity() {
+        return budget != null ? budget.getCapacity() : 0;
+    }
+
+    private ModConfig.BudgetScope budgetScope() {
+        return budget != null ? budget.getScope() : null;
+    }
+}
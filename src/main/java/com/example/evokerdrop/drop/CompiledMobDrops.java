@@ -0,0 +1,152 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ModConfig;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Semua drop yang sudah dikompilasi untuk satu loot table mob
+ */
+public final class CompiledMobDrops {
+    private final String mobId;
+    private final Identifier entityId;
+    private final Identifier lootTableId;
+    private final List<CompiledItemDrop> itemDrops;
+    private final boolean dropGroup;
+    // Tidak ikut equals: tidak mengubah isi loot table
+    private final boolean deliverToInventory;
+    // Budget kill per menit untuk mob ini, null kalau tidak dibatasi
+    private final DropBudget budget;
+    // null kalau mob ini tidak memakai drop group
+    private final DropGroupSampler groupSampler;
+    // Tidak ikut equals: counter dipakai bersama semua index
+    private final DropMetrics.MobStats stats;
+
+    CompiledMobDrops(String mobId, Identifier entityId, Identifier lootTableId,
+                     List<CompiledItemDrop> itemDrops, boolean dropGroup, boolean deliverToInventory,
+                     DropBudget budget, DropMetrics.MobStats stats) {
+        this(mobId, entityId, lootTableId, List.copyOf(itemDrops), dropGroup, deliverToInventory, budget,
+                dropGroup ? DropGroupSampler.create(List.copyOf(itemDrops)) : null, stats);
+    }
+
+    private CompiledMobDrops(String mobId, Identifier entityId, Identifier lootTableId,
+                             List<CompiledItemDrop> itemDrops, boolean dropGroup, boolean deliverToInventory,
+                             DropBudget budget, DropGroupSampler groupSampler, DropMetrics.MobStats stats) {
+        this.mobId = mobId;
+        this.entityId = entityId;
+        this.lootTableId = lootTableId;
+        this.itemDrops = itemDrops;
+        this.dropGroup = dropGroup;
+        this.deliverToInventory = deliverToInventory;
+        this.budget = budget;
+        this.groupSampler = groupSampler;
+        this.stats = stats;
+    }
+
+    /**
+     * Salinan rule selector untuk satu mob yang cocok. Item, sampler, budget dan
+     * statistik dipakai bersama semua mob dari selector yang sama.
+     */
+    CompiledMobDrops bind(Identifier entityId, Identifier lootTableId) {
+        return new CompiledMobDrops(mobId, entityId, lootTableId, itemDrops, dropGroup, deliverToInventory,
+                budget, groupSampler, stats);
+    }
+
+    public String getMobId() {
+        return mobId;
+    }
+
+    public Identifier getEntityId() {
+        return entityId;
+    }
+
+    public Identifier getLootTableId() {
+        return lootTableId;
+    }
+
+    public List<CompiledItemDrop> getItemDrops() {
+        return itemDrops;
+    }
+
+    public boolean isDropGroup() {
+        return dropGroup;
+    }
+
+    public boolean isDeliverToInventory() {
+        return deliverToInventory;
+    }
+
+    public DropBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * True kalau mob ini atau salah satu item-nya punya budget
+     */
+    public boolean hasBudget() {
+        if (budget != null) {
+            return true;
+        }
+        for (CompiledItemDrop itemDrop : itemDrops) {
+            if (itemDrop.getBudget() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True kalau salah satu item punya kondisi (dimensi, biome, difficulty, waktu, cuaca)
+     */
+    public boolean hasConditions() {
+        for (CompiledItemDrop itemDrop : itemDrops) {
+            if (!itemDrop.getConditions().isAlways()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public DropGroupSampler getGroupSampler() {
+        return groupSampler;
+    }
+
+    /**
+     * True kalau drop mob ini di-roll oleh DropRoller (engine RUNTIME, drop group, budget,
+     * atau kondisi), false kalau memakai pool vanilla per item
+     */
+    public boolean isRolledByMod(ModConfig.DropEngine engine) {
+        return engine == ModConfig.DropEngine.RUNTIME || groupSampler != null || hasBudget() || hasConditions();
+    }
+
+    public DropMetrics.MobStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompiledMobDrops other)) return false;
+        return Objects.equals(lootTableId, other.lootTableId)
+                && Objects.equals(entityId, other.entityId)
+                && dropGroup == other.dropGroup
+                && budgetCapacity() == other.budgetCapacity()
+                && budgetScope() == other.budgetScope()
+                && itemDrops.equals(other.itemDrops);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lootTableId, entityId, itemDrops, dropGroup, budgetCapacity(), budgetScope());
+    }
+
+    private int budgetCapacity() {
+        return budget != null ? budget.getCapacity() : 0;
+    }
+
+    private ModConfig.BudgetScope budgetScope() {
+        return budget != null ? budget.getScope() : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.evokerdrop.drop;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Mengumpulkan drop dari kematian di chunk dan tick yang sama, lalu spawn
+ * satu stack gabungan per item di akhir tick world. Jumlah item tetap sama,
+ * hanya jumlah ItemEntity yang berkurang (berguna untuk mob farm).
+ * Hanya dipakai dari server thread.
+ */
+public final class DropAggregator {
+    private static final Map<ServerWorld, Long2ObjectMap<ChunkDrops>> PENDING = new IdentityHashMap<>();
+
+    private DropAggregator() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(DropAggregator::flush);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> PENDING.clear());
+    }
+
+    /**
+     * Tahan stack ini sampai akhir tick, digabung dengan drop lain di chunk yang sama
+     */
+    public static void add(ServerWorld world, Vec3d pos, ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+
+        long chunkKey = ChunkPos.toLong((int) Math.floor(pos.x) >> 4, (int) Math.floor(pos.z) >> 4);
+        ChunkDrops chunkDrops = PENDING
+                .computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(chunkKey, key -> new ChunkDrops(pos));
+        chunkDrops.counts.mergeInt(stack.getItem(), stack.getCount(), Integer::sum);
+    }
+
+    private static void flush(ServerWorld world) {
+        Long2ObjectMap<ChunkDrops> pending = PENDING.remove(world);
+        if (pending == null) {
+            return;
+        }
+
+        for (ChunkDrops chunkDrops : pending.values()) {
+            for (Reference2IntMap.Entry<Item> entry : chunkDrops.counts.reference2IntEntrySet()) {
+                Item item = entry.getKey();
+                int remaining = entry.getIntValue();
+                int maxStack = Math.max(1, item.getMaxCount());
+
+                // Pecah per max stack size supaya tidak ada stack ilegal
+                while (remaining > 0) {
+                    int count = Math.min(remaining, maxStack);
+                    remaining -= count;
+                    spawn(world, chunkDrops.position, new ItemStack(item, count));
+                }
+            }
+        }
+    }
+
+    private static void spawn(ServerWorld world, Vec3d pos, ItemStack stack) {
+        ItemEntity itemEntity = new ItemEntity(world, pos.x, pos.y + 0.25, pos.z, stack);
+        itemEntity.setToDefaultPickupDelay();
+        world.spawnEntity(itemEntity);
+    }
+
+    private static final class ChunkDrops {
+        // Posisi kematian pertama di chunk ini pada tick ini
+        private final Vec3d position;
+        private final Reference2IntOpenHashMap<Item> counts = new Reference2IntOpenHashMap<>();
+
+        private ChunkDrops(Vec3d position) {
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ModConfig;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batas jumlah drop per menit, per chunk atau per player.
+ * Setiap key punya token bucket lock-free (satu AtomicLong berisi waktu refill + sisa token).
+ */
+public final class DropBudget {
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    // Bucket yang sudah penuh lagi dibuang setiap sekian acquire
+    private static final int PRUNE_INTERVAL = 4096;
+
+    private final int capacity;
+    private final ModConfig.BudgetScope scope;
+    private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger acquireCounter = new AtomicInteger();
+
+    private DropBudget(int capacity, ModConfig.BudgetScope scope) {
+        this.capacity = (int) Math.min(capacity, TOKEN_MASK);
+        this.scope = scope;
+    }
+
+    /**
+     * Budget untuk rule ini, null kalau tidak dibatasi
+     */
+    public static DropBudget of(int perMinute, ModConfig.BudgetScope scope) {
+        if (perMinute <= 0) {
+            return null;
+        }
+        return new DropBudget(perMinute, scope != null ? scope : ModConfig.BudgetScope.CHUNK);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public ModConfig.BudgetScope getScope() {
+        return scope;
+    }
+
+    /**
+     * Ambil satu token untuk drop ini, false kalau budget key ini sudah habis
+     */
+    public boolean tryAcquire(DropContext context) {
+        long now = System.currentTimeMillis();
+        // Chunk di dimensi berbeda tidak boleh berbagi bucket, jadi key = (dimensi, chunk)
+        Object key = scope == ModConfig.BudgetScope.PLAYER && context.playerId() != null
+                ? context.playerId()
+                : new ChunkKey(context.dimension(), context.chunkKey());
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+        }
+
+        if ((acquireCounter.incrementAndGet() & (PRUNE_INTERVAL - 1)) == 0) {
+            buckets.values().removeIf(b -> b.isFull(capacity, now));
+        }
+
+        return bucket.tryAcquire(capacity, now);
+    }
+
+    private record ChunkKey(RegistryKey<World> dimension, long chunk) {
+    }
+
+    private static final class TokenBucket {
+        // [waktu refill terakhir (ms) | sisa token (TOKEN_BITS bit)]
+        private final AtomicLong state;
+
+        private TokenBucket(int capacity, long now) {
+            this.state = new AtomicLong(pack(now, capacity));
+        }
+
+        private boolean tryAcquire(int capacity, long now) {
+            while (true) {
+                long current = state.get();
+                long last = current >>> TOKEN_BITS;
+                long tokens = current & TOKEN_MASK;
+
+                if (tokens >= capacity) {
+                    // Bucket penuh: refill dihitung mulai sekarang
+                    last = now;
+                } else if (now > last) {
+                    long refill = (now - last) * capacity / WINDOW_MILLIS;
+                    if (refill > 0) {
+                        tokens = Math.min(capacity, tokens + refill);
+                        // Sisa waktu pecahan tetap terbawa ke refill berikutnya
+                        last = tokens >= capacity ? now : last + refill * WINDOW_MILLIS / capacity;
+                    }
+                }
+
+                if (tokens == 0) {
+                    return false;
+                }
+
+                if (state.compareAndSet(current, pack(last, tokens - 1))) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean isFull(int capacity, long now) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            return tokens + Math.max(0, now - last) * capacity / WINDOW_MILLIS >= capacity;
+        }
+
+        private static long pack(long time, long tokens) {
+            return (time << TOKEN_BITS) | tokens;
+        }
+    }
+}
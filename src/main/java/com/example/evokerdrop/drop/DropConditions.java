@@ -0,0 +1,170 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Kondisi item drop yang sudah dikompilasi: id dimensi/biome di-parse sekali per reload
+ * menjadi RegistryKey / TagKey, lalu semua cek disimpan di satu array urut dari yang
+ * paling murah. Saat kill tidak ada map lookup atau perbandingan string.
+ */
+public final class DropConditions {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Conditions");
+
+    public static final DropConditions ALWAYS = new DropConditions(ConfigSnapshot.ConditionRule.NONE, new Check[0]);
+
+    // Biaya relatif per jenis cek
+    private static final int COST_WORLD_STATE = 0;
+    private static final int COST_DIMENSION = 1;
+    private static final int COST_BIOME = 2;
+
+    private final ConfigSnapshot.ConditionRule source;
+    private final Check[] checks;
+
+    private DropConditions(ConfigSnapshot.ConditionRule source, Check[] checks) {
+        this.source = source;
+        this.checks = checks;
+    }
+
+    public static DropConditions compile(ConfigSnapshot.ConditionRule rule) {
+        if (rule.isAlways()) {
+            return ALWAYS;
+        }
+
+        List<Check> checks = new ArrayList<>();
+
+        switch (rule.weather()) {
+            case CLEAR -> checks.add(new Check(COST_WORLD_STATE, context -> !context.world().isRaining()));
+            case RAIN -> checks.add(new Check(COST_WORLD_STATE, context -> context.world().isRaining()));
+            case THUNDER -> checks.add(new Check(COST_WORLD_STATE, context -> context.world().isThundering()));
+            default -> {
+            }
+        }
+
+        switch (rule.time()) {
+            case DAY -> checks.add(new Check(COST_WORLD_STATE, context -> context.world().isDay()));
+            case NIGHT -> checks.add(new Check(COST_WORLD_STATE, context -> context.world().isNight()));
+            default -> {
+            }
+        }
+
+        // Urutan DifficultyCondition sama dengan id Difficulty (ANY = peaceful)
+        int minDifficulty = rule.minDifficulty().ordinal();
+        if (minDifficulty > 0) {
+            checks.add(new Check(COST_WORLD_STATE, context -> context.world().getDifficulty().getId() >= minDifficulty));
+        }
+
+        RegistryKey<World>[] dimensions = compileDimensions(rule.dimensions());
+        if (dimensions.length > 0) {
+            checks.add(new Check(COST_DIMENSION, context -> {
+                // RegistryKey di-intern, jadi cukup bandingkan identity
+                RegistryKey<World> current = context.world().getRegistryKey();
+                for (RegistryKey<World> dimension : dimensions) {
+                    if (dimension == current) {
+                        return true;
+                    }
+                }
+                return false;
+            }));
+        }
+
+        List<RegistryKey<Biome>> biomeKeys = new ArrayList<>();
+        List<TagKey<Biome>> biomeTags = new ArrayList<>();
+        compileBiomes(rule.biomes(), biomeKeys, biomeTags);
+        if (!biomeKeys.isEmpty() || !biomeTags.isEmpty()) {
+            @SuppressWarnings("unchecked")
+            RegistryKey<Biome>[] keys = biomeKeys.toArray(new RegistryKey[0]);
+            @SuppressWarnings("unchecked")
+            TagKey<Biome>[] tags = biomeTags.toArray(new TagKey[0]);
+            checks.add(new Check(COST_BIOME, context -> {
+                RegistryEntry<Biome> biome = context.world().getBiome(context.pos());
+                for (RegistryKey<Biome> key : keys) {
+                    if (biome.matchesKey(key)) {
+                        return true;
+                    }
+                }
+                for (TagKey<Biome> tag : tags) {
+                    if (biome.isIn(tag)) {
+                        return true;
+                    }
+                }
+                return false;
+            }));
+        }
+
+        checks.sort(Comparator.comparingInt(Check::cost));
+        return new DropConditions(rule, checks.toArray(new Check[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RegistryKey<World>[] compileDimensions(List<String> ids) {
+        List<RegistryKey<World>> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Identifier dimensionId = Identifier.tryParse(id);
+            if (dimensionId == null) {
+                LOGGER.warn("Invalid dimension id in drop condition: {}", id);
+                continue;
+            }
+            keys.add(RegistryKey.of(RegistryKeys.WORLD, dimensionId));
+        }
+        return keys.toArray(new RegistryKey[0]);
+    }
+
+    private static void compileBiomes(List<String> ids, List<RegistryKey<Biome>> keys, List<TagKey<Biome>> tags) {
+        for (String id : ids) {
+            boolean tag = id.startsWith("#");
+            Identifier biomeId = Identifier.tryParse(tag ? id.substring(1) : id);
+            if (biomeId == null) {
+                LOGGER.warn("Invalid biome id in drop condition: {}", id);
+            } else if (tag) {
+                tags.add(TagKey.of(RegistryKeys.BIOME, biomeId));
+            } else {
+                keys.add(RegistryKey.of(RegistryKeys.BIOME, biomeId));
+            }
+        }
+    }
+
+    public boolean isAlways() {
+        return checks.length == 0;
+    }
+
+    /**
+     * True kalau semua kondisi terpenuhi, berhenti di cek pertama yang gagal
+     */
+    public boolean test(DropContext context) {
+        for (Check check : checks) {
+            if (!check.predicate().test(context)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DropConditions other)) return false;
+        return source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    private record Check(int cost, Predicate<DropContext> predicate) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.UUID;
+
+/**
+ * Info tentang kill yang dibutuhkan untuk cek budget dan kondisi drop
+ *
+ * @param chunkKey chunk tempat mob mati (ChunkPos.toLong), dimensi dibaca dari world
+ * @param playerId UUID player yang membunuh, null kalau tidak ada
+ * @param world    world tempat mob mati
+ * @param pos      posisi mob mati
+ */
+public record DropContext(long chunkKey, UUID playerId, ServerWorld world, BlockPos pos) {
+
+    public static DropContext of(ServerWorld world, Vec3d pos, Entity killer) {
+        long chunkKey = ChunkPos.toLong((int) Math.floor(pos.x) >> 4, (int) Math.floor(pos.z) >> 4);
+        return new DropContext(chunkKey, killer != null ? killer.getUuid() : null, world, BlockPos.ofFloored(pos));
+    }
+
+    /**
+     * Dimensi tempat mob mati, null kalau tidak ada world (benchmark)
+     */
+    public RegistryKey<World> dimension() {
+        return world != null ? world.getRegistryKey() : null;
+    }
+}
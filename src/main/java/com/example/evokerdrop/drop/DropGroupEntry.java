@@ -0,0 +1,128 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import com.example.evokerdrop.config.ModConfig;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.loot.condition.LootCondition;
+import net.minecraft.loot.context.LootContext;
+import net.minecraft.loot.context.LootContextParameters;
+import net.minecraft.loot.entry.LootChoice;
+import net.minecraft.loot.entry.LootPoolEntry;
+import net.minecraft.loot.entry.LootPoolEntryType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Loot entry untuk mode drop group: satu entry mewakili semua drop milik satu mob
+ * dan me-roll semuanya dengan satu sample dari DropGroupSampler.
+ * Juga dipakai untuk mob yang punya budget, supaya budget dicek sebelum stack dibuat.
+ */
+public class DropGroupEntry extends LootPoolEntry {
+    public static final MapCodec<DropGroupEntry> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                    Identifier.CODEC.fieldOf("loot_table").forGetter(entry -> entry.lootTableId)
+            )
+            .and(addConditionsField(instance).t1())
+            .apply(instance, DropGroupEntry::new));
+
+    public static final LootPoolEntryType TYPE = new LootPoolEntryType(CODEC);
+
+    private final Identifier lootTableId;
+    private final LootChoice choice = new LootChoice() {
+        @Override
+        public int getWeight(float luck) {
+            return 1;
+        }
+
+        @Override
+        public void generateLoot(Consumer<ItemStack> lootConsumer, LootContext context) {
+            DropGroupEntry.this.generateLoot(lootConsumer, context);
+        }
+    };
+
+    private DropGroupEntry(Identifier lootTableId, List<LootCondition> conditions) {
+        super(conditions);
+        this.lootTableId = lootTableId;
+    }
+
+    public static void register() {
+        Registry.register(Registries.LOOT_POOL_ENTRY_TYPE,
+                Identifier.of(EvokerDropsMod.MOD_ID, "drop_group"), TYPE);
+    }
+
+    public static Builder builder(Identifier lootTableId) {
+        return new Builder(lootTableId);
+    }
+
+    @Override
+    public LootPoolEntryType getType() {
+        return TYPE;
+    }
+
+    @Override
+    public boolean expand(LootContext context, Consumer<LootChoice> choiceConsumer) {
+        if (!this.test(context)) {
+            return false;
+        }
+        choiceConsumer.accept(choice);
+        return true;
+    }
+
+    private void generateLoot(Consumer<ItemStack> lootConsumer, LootContext context) {
+        // Rule diambil dari index yang aktif saat roll
+        DropIndex index = EvokerDropsMod.getDropIndex();
+        if (index.getEngine() != ModConfig.DropEngine.LOOT_TABLE) {
+            return;
+        }
+
+        CompiledMobDrops mobDrops = index.get(lootTableId, context.getWorld().getRegistryManager());
+        if (mobDrops == null) {
+            return;
+        }
+
+        ResolvedRegistries resolved = ResolvedRegistries.get(index, context.getWorld().getRegistryManager());
+
+        int lootingLevel = 0;
+        RegistryEntry<Enchantment> looting = resolved.getLooting();
+        Entity attacker = context.get(LootContextParameters.ATTACKING_ENTITY);
+        if (looting != null && attacker instanceof LivingEntity livingAttacker) {
+            lootingLevel = EnchantmentHelper.getEquipmentLevel(looting, livingAttacker);
+        }
+
+        Vec3d origin = context.get(LootContextParameters.ORIGIN);
+        Entity killer = context.get(LootContextParameters.LAST_DAMAGE_PLAYER);
+        DropContext dropContext = DropContext.of(context.getWorld(),
+                origin != null ? origin : Vec3d.ZERO, killer != null ? killer : attacker);
+
+        DropRoller.rollMob(mobDrops, resolved, context.getRandom(), lootingLevel, dropContext, lootConsumer);
+    }
+
+    public static class Builder extends LootPoolEntry.Builder<Builder> {
+        private final Identifier lootTableId;
+
+        private Builder(Identifier lootTableId) {
+            this.lootTableId = lootTableId;
+        }
+
+        @Override
+        protected Builder getThisBuilder() {
+            return this;
+        }
+
+        @Override
+        public LootPoolEntry build() {
+            return new DropGroupEntry(lootTableId, this.getConditions());
+        }
+    }
+}
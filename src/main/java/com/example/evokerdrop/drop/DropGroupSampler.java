@@ -0,0 +1,143 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.util.math.random.Random;
+
+import java.util.List;
+
+/**
+ * Sampler untuk mode "drop group": semua chance independen dari satu mob
+ * digabung jadi distribusi atas bitmask item yang drop, lalu di-sample
+ * dengan Walker alias table. Satu kill = satu angka random.
+ */
+public final class DropGroupSampler {
+    // Bit per item disimpan di int
+    public static final int MAX_GROUP_SIZE = 32;
+    // 2^12 = 4096 outcome, di atas itu alias table terlalu besar
+    public static final int MAX_UNCERTAIN_DROPS = 12;
+
+    private final int[] outcomeMasks;
+    private final double[] probability;
+    private final int[] alias;
+
+    private DropGroupSampler(int[] outcomeMasks, double[] probability, int[] alias) {
+        this.outcomeMasks = outcomeMasks;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Buat sampler untuk daftar drop ini, null kalau terlalu besar untuk di-enumerate
+     */
+    public static DropGroupSampler create(List<CompiledItemDrop> drops) {
+        if (drops.isEmpty() || drops.size() > MAX_GROUP_SIZE) {
+            return null;
+        }
+
+        int alwaysMask = 0;
+        int[] uncertainBits = new int[drops.size()];
+        float[] uncertainChances = new float[drops.size()];
+        int uncertainCount = 0;
+
+        for (int i = 0; i < drops.size(); i++) {
+            float chance = drops.get(i).getDropChance();
+            if (chance >= 1.0f) {
+                alwaysMask |= 1 << i;
+            } else if (chance > 0.0f) {
+                uncertainBits[uncertainCount] = i;
+                uncertainChances[uncertainCount] = chance;
+                uncertainCount++;
+            }
+        }
+
+        if (uncertainCount > MAX_UNCERTAIN_DROPS) {
+            return null;
+        }
+
+        // Probabilitas setiap kombinasi item yang chance-nya < 100%
+        int outcomes = 1 << uncertainCount;
+        int[] outcomeMasks = new int[outcomes];
+        double[] weights = new double[outcomes];
+
+        for (int combo = 0; combo < outcomes; combo++) {
+            int mask = alwaysMask;
+            double p = 1.0;
+            for (int bit = 0; bit < uncertainCount; bit++) {
+                if ((combo & (1 << bit)) != 0) {
+                    mask |= 1 << uncertainBits[bit];
+                    p *= uncertainChances[bit];
+                } else {
+                    p *= 1.0 - uncertainChances[bit];
+                }
+            }
+            outcomeMasks[combo] = mask;
+            weights[combo] = p;
+        }
+
+        double[] probability = new double[outcomes];
+        int[] alias = new int[outcomes];
+        buildAliasTable(weights, probability, alias);
+        return new DropGroupSampler(outcomeMasks, probability, alias);
+    }
+
+    /**
+     * Vose alias method, weights harus berjumlah 1
+     */
+    private static void buildAliasTable(double[] weights, double[] probability, int[] alias) {
+        int n = weights.length;
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Sisa (termasuk error floating point) selalu terpilih
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * Bitmask item yang drop untuk satu kill (bit i = drop ke-i)
+     */
+    public int sample(Random random) {
+        int n = outcomeMasks.length;
+        if (n == 1) {
+            return outcomeMasks[0];
+        }
+
+        double u = random.nextDouble() * n;
+        int column = Math.min((int) u, n - 1);
+        return (u - column) < probability[column] ? outcomeMasks[column] : outcomeMasks[alias[column]];
+    }
+}
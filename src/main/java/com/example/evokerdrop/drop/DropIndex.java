@@ -0,0 +1,340 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ConfigSnapshot;
+import com.example.evokerdrop.config.ModConfig;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index loot table id -> drop yang sudah dikompilasi.
+ * Dibangun sekali setiap config di-load/reload, supaya callback
+ * LootTableEvents.MODIFY cukup melakukan satu hash lookup per table.
+ * Rule dengan selector (tag, namespace:*, spawn group) di-resolve terhadap registry
+ * menjadi bitset per raw id EntityType, jadi lookup saat kill cukup satu bit test.
+ */
+public final class DropIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-DropIndex");
+
+    public static final DropIndex EMPTY = new DropIndex(
+            ModConfig.DropEngine.LOOT_TABLE, false, Collections.emptyMap(), Collections.emptyMap(), List.of(), List.of());
+
+    // Naik setiap datapack reload: tag bisa berubah, hasil resolve selector harus dibuang
+    private static volatile int tagGeneration;
+
+    private final ModConfig.DropEngine engine;
+    private final boolean coalesceDrops;
+    private final Map<Identifier, CompiledMobDrops> byLootTable;
+    private final Map<Identifier, CompiledMobDrops> byEntity;
+    // Item id per slot, di-resolve oleh ResolvedRegistries
+    private final List<String> itemSlots;
+    // Rule selector, urut sesuai config (selector pertama yang cocok menang)
+    private final List<SelectorRule> selectors;
+    private volatile EntityTable entityTable;
+    // Diisi oleh ResolvedRegistries.get, satu per index
+    private volatile ResolvedRegistries resolved;
+
+    private DropIndex(ModConfig.DropEngine engine,
+                      boolean coalesceDrops,
+                      Map<Identifier, CompiledMobDrops> byLootTable,
+                      Map<Identifier, CompiledMobDrops> byEntity,
+                      List<String> itemSlots,
+                      List<SelectorRule> selectors) {
+        this.engine = engine;
+        this.coalesceDrops = coalesceDrops;
+        this.byLootTable = byLootTable;
+        this.byEntity = byEntity;
+        this.itemSlots = itemSlots;
+        this.selectors = selectors;
+    }
+
+    /**
+     * Kompilasi rule dari satu ConfigSnapshot, dipanggil oleh ConfigSnapshot sendiri
+     */
+    public static DropIndex compile(ModConfig.DropEngine engine, boolean coalesceDrops, List<ConfigSnapshot.MobRule> mobs) {
+        if (mobs.isEmpty()) {
+            return new DropIndex(engine, coalesceDrops, Collections.emptyMap(), Collections.emptyMap(), List.of(), List.of());
+        }
+
+        // LinkedHashMap supaya urutan pool tetap sama dengan urutan di config
+        Map<Identifier, String> mobIds = new LinkedHashMap<>();
+        Map<Identifier, Identifier> entityIds = new HashMap<>();
+        Set<Identifier> dropGroups = new HashSet<>();
+        Set<Identifier> inventoryDelivery = new HashSet<>();
+        Map<Identifier, DropBudget> mobBudgets = new HashMap<>();
+        Map<Identifier, List<CompiledItemDrop>> drops = new LinkedHashMap<>();
+        List<String> itemSlots = new ArrayList<>();
+        List<SelectorRule> selectors = new ArrayList<>();
+
+        for (ConfigSnapshot.MobRule mobConfig : mobs) {
+            if (!mobConfig.enabled()) {
+                continue;
+            }
+
+            if (MobSelector.isSelector(mobConfig.mobId())) {
+                MobSelector selector = MobSelector.parse(mobConfig.mobId());
+                if (selector == null) {
+                    LOGGER.warn("Invalid mob selector: {}", mobConfig.mobId());
+                    continue;
+                }
+                // Statistik dicatat per selector, bukan per mob yang cocok
+                DropMetrics.MobStats selectorStats = DropMetrics.forMob(mobConfig.mobId());
+                List<CompiledItemDrop> selectorDrops = new ArrayList<>();
+                for (ConfigSnapshot.ItemRule itemDrop : mobConfig.itemDrops()) {
+                    if (itemDrop.enabled()) {
+                        selectorDrops.add(new CompiledItemDrop(itemDrop, itemSlots.size(), selectorStats.forItem(itemDrop.itemId())));
+                        itemSlots.add(itemDrop.itemId());
+                    }
+                }
+                selectors.add(new SelectorRule(selector, new CompiledMobDrops(mobConfig.mobId(), null, null,
+                        selectorDrops, mobConfig.dropGroup(), mobConfig.deliverToInventory(),
+                        DropBudget.of(mobConfig.budgetPerMinute(), mobConfig.budgetScope()), selectorStats)));
+                continue;
+            }
+
+            Identifier lootTableId = toLootTableId(mobConfig.mobId());
+            Identifier entityId = Identifier.tryParse(mobConfig.mobId());
+            if (lootTableId == null || entityId == null) {
+                continue;
+            }
+
+            List<CompiledItemDrop> itemDrops = drops.computeIfAbsent(lootTableId, id -> new ArrayList<>());
+            mobIds.putIfAbsent(lootTableId, mobConfig.mobId());
+            entityIds.putIfAbsent(lootTableId, entityId);
+            if (mobConfig.dropGroup()) {
+                dropGroups.add(lootTableId);
+            }
+            if (mobConfig.deliverToInventory()) {
+                inventoryDelivery.add(lootTableId);
+            }
+            if (mobConfig.budgetPerMinute() > 0) {
+                mobBudgets.putIfAbsent(lootTableId, DropBudget.of(mobConfig.budgetPerMinute(), mobConfig.budgetScope()));
+            }
+
+            DropMetrics.MobStats mobStats = DropMetrics.forMob(entityId);
+            for (ConfigSnapshot.ItemRule itemDrop : mobConfig.itemDrops()) {
+                if (itemDrop.enabled()) {
+                    itemDrops.add(new CompiledItemDrop(itemDrop, itemSlots.size(), mobStats.forItem(itemDrop.itemId())));
+                    itemSlots.add(itemDrop.itemId());
+                }
+            }
+        }
+
+        Map<Identifier, CompiledMobDrops> byLootTable = new HashMap<>(drops.size() * 2);
+        Map<Identifier, CompiledMobDrops> byEntity = new HashMap<>(drops.size() * 2);
+        for (Map.Entry<Identifier, List<CompiledItemDrop>> entry : drops.entrySet()) {
+            Identifier lootTableId = entry.getKey();
+            CompiledMobDrops mobDrops = new CompiledMobDrops(mobIds.get(lootTableId), entityIds.get(lootTableId),
+                    lootTableId, entry.getValue(), dropGroups.contains(lootTableId),
+                    inventoryDelivery.contains(lootTableId), mobBudgets.get(lootTableId),
+                    DropMetrics.forMob(entityIds.get(lootTableId)));
+            if (mobDrops.isDropGroup() && mobDrops.getGroupSampler() == null && !entry.getValue().isEmpty()) {
+                LOGGER.warn("Mob {} has too many uncertain drops for a drop group (max {}), using one pool per item",
+                        mobDrops.getMobId(), DropGroupSampler.MAX_UNCERTAIN_DROPS);
+            }
+            byLootTable.put(lootTableId, mobDrops);
+            byEntity.put(mobDrops.getEntityId(), mobDrops);
+        }
+
+        LOGGER.debug("Compiled drop index with {} loot table(s), {} selector(s), engine: {}",
+                byLootTable.size(), selectors.size(), engine);
+        return new DropIndex(engine, coalesceDrops, Collections.unmodifiableMap(byLootTable), Collections.unmodifiableMap(byEntity),
+                List.copyOf(itemSlots), List.copyOf(selectors));
+    }
+
+    /**
+     * Dipanggil setelah datapack reload: tag entity type mungkin berubah
+     */
+    public static void invalidateSelectors() {
+        tagGeneration++;
+    }
+
+    /**
+     * Konversi mob id (namespace:path) ke id loot table entities/path
+     */
+    public static Identifier toLootTableId(String mobId) {
+        try {
+            String[] parts = mobId.split(":");
+            if (parts.length == 2) {
+                return Identifier.of(parts[0], "entities/" + parts[1]);
+            }
+            return Identifier.of("minecraft", "entities/" + mobId);
+        } catch (Exception e) {
+            LOGGER.error("Invalid mob ID: {}", mobId, e);
+            return null;
+        }
+    }
+
+    public ModConfig.DropEngine getEngine() {
+        return engine;
+    }
+
+    public boolean isCoalesceDrops() {
+        return coalesceDrops;
+    }
+
+    /**
+     * Rule untuk loot table ini dari mob id persis saja (tanpa selector)
+     */
+    public CompiledMobDrops get(Identifier lootTableId) {
+        return byLootTable.get(lootTableId);
+    }
+
+    /**
+     * Rule untuk loot table ini, termasuk hasil selector
+     */
+    public CompiledMobDrops get(Identifier lootTableId, RegistryWrapper.WrapperLookup registries) {
+        if (selectors.isEmpty()) {
+            return byLootTable.get(lootTableId);
+        }
+        return entityTable(registries).byLootTable.get(lootTableId);
+    }
+
+    /**
+     * Rule untuk entity ini dari mob id persis saja (tanpa selector)
+     */
+    public CompiledMobDrops getByEntity(Identifier entityId) {
+        return byEntity.get(entityId);
+    }
+
+    /**
+     * Rule untuk tipe entity ini: satu bit test di raw id, tanpa hash lookup
+     */
+    public CompiledMobDrops getByEntity(EntityType<?> type, RegistryWrapper.WrapperLookup registries) {
+        EntityTable table = entityTable(registries);
+        int rawId = Registries.ENTITY_TYPE.getRawId(type);
+        return table.matched.get(rawId) ? table.byRawId[rawId] : null;
+    }
+
+    /**
+     * Semua loot table yang punya rule, termasuk hasil selector
+     */
+    public Collection<CompiledMobDrops> lootTables(RegistryWrapper.WrapperLookup registries) {
+        if (selectors.isEmpty()) {
+            return byLootTable.values();
+        }
+        return entityTable(registries).byLootTable.values();
+    }
+
+    public boolean hasSelectors() {
+        return !selectors.isEmpty();
+    }
+
+    public List<String> getItemSlots() {
+        return itemSlots;
+    }
+
+    public Collection<CompiledMobDrops> values() {
+        return byLootTable.values();
+    }
+
+    /**
+     * Jumlah rule dengan id persis, selector tidak ikut dihitung
+     */
+    public int size() {
+        return byLootTable.size();
+    }
+
+    /**
+     * True kalau tidak ada rule sama sekali, termasuk selector
+     */
+    public boolean isEmpty() {
+        return byLootTable.isEmpty() && selectors.isEmpty();
+    }
+
+    ResolvedRegistries getResolved() {
+        return resolved;
+    }
+
+    void setResolved(ResolvedRegistries resolved) {
+        this.resolved = resolved;
+    }
+
+    private EntityTable entityTable(RegistryWrapper.WrapperLookup registries) {
+        EntityTable current = entityTable;
+        int generation = tagGeneration;
+        if (current != null && current.registries == registries && current.generation == generation) {
+            return current;
+        }
+        current = EntityTable.build(this, registries, generation);
+        entityTable = current;
+        return current;
+    }
+
+    private record SelectorRule(MobSelector selector, CompiledMobDrops template) {
+    }
+
+    /**
+     * Rule per raw id EntityType untuk satu registry lookup: mob id persis lebih dulu,
+     * lalu selector sesuai urutan config
+     */
+    private static final class EntityTable {
+        private final RegistryWrapper.WrapperLookup registries;
+        private final int generation;
+        private final BitSet matched;
+        private final CompiledMobDrops[] byRawId;
+        private final Map<Identifier, CompiledMobDrops> byLootTable;
+
+        private EntityTable(RegistryWrapper.WrapperLookup registries, int generation, BitSet matched,
+                            CompiledMobDrops[] byRawId, Map<Identifier, CompiledMobDrops> byLootTable) {
+            this.registries = registries;
+            this.generation = generation;
+            this.matched = matched;
+            this.byRawId = byRawId;
+            this.byLootTable = byLootTable;
+        }
+
+        private static EntityTable build(DropIndex index, RegistryWrapper.WrapperLookup registries, int generation) {
+            int size = Registries.ENTITY_TYPE.size();
+            BitSet matched = new BitSet(size);
+            CompiledMobDrops[] byRawId = new CompiledMobDrops[size];
+            Map<Identifier, CompiledMobDrops> byLootTable = new HashMap<>(index.byLootTable);
+
+            for (CompiledMobDrops mobDrops : index.byEntity.values()) {
+                if (Registries.ENTITY_TYPE.containsId(mobDrops.getEntityId())) {
+                    int rawId = Registries.ENTITY_TYPE.getRawId(Registries.ENTITY_TYPE.get(mobDrops.getEntityId()));
+                    matched.set(rawId);
+                    byRawId[rawId] = mobDrops;
+                }
+            }
+
+            int expanded = 0;
+            for (SelectorRule rule : index.selectors) {
+                BitSet bits = rule.selector().resolve(registries);
+                for (int rawId = bits.nextSetBit(0); rawId >= 0 && rawId < size; rawId = bits.nextSetBit(rawId + 1)) {
+                    if (matched.get(rawId)) {
+                        continue;
+                    }
+                    Identifier entityId = Registries.ENTITY_TYPE.getId(Registries.ENTITY_TYPE.get(rawId));
+                    Identifier lootTableId = toLootTableId(entityId.toString());
+                    if (lootTableId == null || byLootTable.containsKey(lootTableId)) {
+                        continue;
+                    }
+
+                    CompiledMobDrops bound = rule.template().bind(entityId, lootTableId);
+                    matched.set(rawId);
+                    byRawId[rawId] = bound;
+                    byLootTable.put(lootTableId, bound);
+                    expanded++;
+                }
+            }
+
+            LOGGER.debug("Resolved {} selector(s) to {} mob(s)", index.selectors.size(), expanded);
+            return new EntityTable(registries, generation, matched, byRawId, byLootTable);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter drop per mob dan per item. Semua counter memakai LongAdder jadi hot path
+ * (kill dan roll) tidak pernah rebutan lock. Counter disimpan per mob id dan item id,
+ * jadi tetap terkumpul walaupun config di-reload.
+ */
+public final class DropMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Metrics");
+    private static final String DUMP_FILE_NAME = "evokerdrops-stats.csv";
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+
+    private static final Map<String, MobStats> MOBS = new ConcurrentHashMap<>();
+
+    private static int ticksSinceDump = 0;
+
+    private DropMetrics() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(DropMetrics::onServerTick);
+    }
+
+    /**
+     * Counter untuk mob ini, dibuat kalau belum ada
+     */
+    public static MobStats forMob(Identifier entityId) {
+        return forMob(entityId.toString());
+    }
+
+    /**
+     * Counter untuk mob id atau selector (#tag, namespace:*, @group)
+     */
+    public static MobStats forMob(String mobId) {
+        return MOBS.computeIfAbsent(mobId, MobStats::new);
+    }
+
+    /**
+     * Counter mob ini, null kalau belum pernah dikonfigurasi
+     */
+    public static MobStats getMob(String mobId) {
+        return MOBS.get(mobId);
+    }
+
+    /**
+     * Semua mob yang punya counter, urut berdasarkan id
+     */
+    public static List<MobStats> getMobs() {
+        List<MobStats> mobs = new ArrayList<>(MOBS.values());
+        mobs.sort(Comparator.comparing(MobStats::getMobId));
+        return mobs;
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        int intervalMinutes = EvokerDropsMod.getSnapshot().getStatsDumpMinutes();
+        if (intervalMinutes <= 0) {
+            ticksSinceDump = 0;
+            return;
+        }
+
+        if (++ticksSinceDump < intervalMinutes * TICKS_PER_MINUTE) {
+            return;
+        }
+        ticksSinceDump = 0;
+
+        // Snapshot diambil di server thread, tulis file di IO worker
+        List<String> lines = snapshotLines(System.currentTimeMillis());
+        if (!lines.isEmpty()) {
+            Util.getIoWorkerExecutor().execute(() -> appendDump(lines));
+        }
+    }
+
+    private static List<String> snapshotLines(long timestamp) {
+        List<String> lines = new ArrayList<>();
+        for (MobStats mob : getMobs()) {
+            long kills = mob.getKills();
+            for (ItemStats item : mob.getItems()) {
+                lines.add(timestamp + "," + mob.getMobId() + "," + item.getItemId() + "," + kills + ","
+                        + item.getRolled() + "," + item.getStacks() + "," + item.getItemCount());
+            }
+        }
+        return lines;
+    }
+
+    private static void appendDump(List<String> lines) {
+        Path dumpFile = FabricLoader.getInstance().getConfigDir().resolve(DUMP_FILE_NAME);
+        try {
+            boolean newFile = !Files.exists(dumpFile);
+            try (Writer writer = Files.newBufferedWriter(dumpFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (newFile) {
+                    writer.write("timestamp,mob,item,kills,rolled,stacks,items\n");
+                }
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+            LOGGER.debug("Appended {} stat line(s) to {}", lines.size(), dumpFile);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write drop stats to {}: {}", dumpFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Counter untuk satu mob
+     */
+    public static final class MobStats {
+        private final String mobId;
+        private final LongAdder kills = new LongAdder();
+        private final Map<String, ItemStats> items = new ConcurrentHashMap<>();
+
+        private MobStats(String mobId) {
+            this.mobId = mobId;
+        }
+
+        public ItemStats forItem(String itemId) {
+            return items.computeIfAbsent(itemId, ItemStats::new);
+        }
+
+        public void recordKill() {
+            kills.increment();
+        }
+
+        public String getMobId() {
+            return mobId;
+        }
+
+        public long getKills() {
+            return kills.sum();
+        }
+
+        public List<ItemStats> getItems() {
+            List<ItemStats> sorted = new ArrayList<>(items.values());
+            sorted.sort(Comparator.comparing(ItemStats::getItemId));
+            return sorted;
+        }
+    }
+
+    /**
+     * Counter untuk satu item drop milik satu mob
+     */
+    public static final class ItemStats {
+        private final String itemId;
+        private final LongAdder rolled = new LongAdder();
+        private final LongAdder stacks = new LongAdder();
+        private final LongAdder itemCount = new LongAdder();
+
+        private ItemStats(String itemId) {
+            this.itemId = itemId;
+        }
+
+        public void recordRoll() {
+            rolled.increment();
+        }
+
+        public void recordDrop(int count) {
+            stacks.increment();
+            itemCount.add(count);
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public long getRolled() {
+            return rolled.sum();
+        }
+
+        public long getStacks() {
+            return stacks.sum();
+        }
+
+        public long getItemCount() {
+            return itemCount.sum();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.random.Random;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Logic roll drop yang dipakai bersama oleh RuntimeDropEngine dan DropGroupEntry
+ */
+public final class DropRoller {
+
+    private DropRoller() {
+    }
+
+    /**
+     * Roll semua drop untuk satu kill. Mob dengan drop group memakai satu sample
+     * dari alias table, sisanya roll chance per item. Kondisi dicek sebelum roll,
+     * budget dicek sebelum stack dibuat.
+     */
+    public static void rollMob(CompiledMobDrops mobDrops, ResolvedRegistries resolved, Random random,
+                               int lootingLevel, DropContext context, Consumer<ItemStack> output) {
+        DropBudget mobBudget = mobDrops.getBudget();
+        if (mobBudget != null && !mobBudget.tryAcquire(context)) {
+            return;
+        }
+
+        List<CompiledItemDrop> itemDrops = mobDrops.getItemDrops();
+        DropGroupSampler sampler = mobDrops.getGroupSampler();
+
+        if (sampler != null) {
+            int mask = sampler.sample(random);
+            for (CompiledItemDrop itemDrop : itemDrops) {
+                itemDrop.getStats().recordRoll();
+            }
+            for (int i = 0; mask != 0; i++, mask >>>= 1) {
+                if ((mask & 1) != 0 && itemDrops.get(i).getConditions().test(context)) {
+                    emit(itemDrops.get(i), resolved.getItem(itemDrops.get(i)), random, lootingLevel, context, output);
+                }
+            }
+            return;
+        }
+
+        for (CompiledItemDrop itemDrop : itemDrops) {
+            itemDrop.getStats().recordRoll();
+            if (!itemDrop.getConditions().test(context)) {
+                continue;
+            }
+            if (itemDrop.getDropChance() < 1.0f && random.nextFloat() >= itemDrop.getDropChance()) {
+                continue;
+            }
+            emit(itemDrop, resolved.getItem(itemDrop), random, lootingLevel, context, output);
+        }
+    }
+
+    private static void emit(CompiledItemDrop itemDrop, Item item, Random random, int lootingLevel,
+                             DropContext context, Consumer<ItemStack> output) {
+        if (item == null) {
+            return;
+        }
+
+        DropBudget budget = itemDrop.getBudget();
+        if (budget != null && !budget.tryAcquire(context)) {
+            return;
+        }
+
+        int count = rollCount(itemDrop, random, lootingLevel);
+        if (count > 0) {
+            itemDrop.getStats().recordDrop(count);
+
+            // Pecah per max stack size supaya tidak ada stack ilegal (mis. 64 elytra)
+            int maxStack = Math.max(1, item.getMaxCount());
+            while (count > 0) {
+                int stackCount = Math.min(count, maxStack);
+                count -= stackCount;
+                output.accept(new ItemStack(item, stackCount));
+            }
+        }
+    }
+
+    /**
+     * Jumlah item untuk drop yang sudah lolos chance
+     */
+    public static int rollCount(CompiledItemDrop itemDrop, Random random, int lootingLevel) {
+        // min >= max (config tidak tervalidasi) dianggap jumlah tetap, nextBetween butuh min <= max
+        int count = itemDrop.getMinCount() >= itemDrop.getMaxCount()
+                ? itemDrop.getMinCount()
+                : random.nextBetween(itemDrop.getMinCount(), itemDrop.getMaxCount());
+
+        // Sama dengan EnchantedCountIncreaseLootFunction + uniform(0, 1) di LootPoolFactory
+        if (itemDrop.isApplyLooting() && lootingLevel > 0) {
+            count += Math.round(lootingLevel * random.nextFloat());
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.Item;
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.loot.condition.KilledByPlayerLootCondition;
+import net.minecraft.loot.condition.RandomChanceLootCondition;
+import net.minecraft.loot.entry.ItemEntry;
+import net.minecraft.loot.function.EnchantedCountIncreaseLootFunction;
+import net.minecraft.loot.function.SetCountLootFunction;
+import net.minecraft.loot.provider.number.ConstantLootNumberProvider;
+import net.minecraft.loot.provider.number.UniformLootNumberProvider;
+import net.minecraft.registry.entry.RegistryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membangun LootPool dari CompiledMobDrops, dipakai oleh hook MODIFY
+ * maupun oleh LootTablePatcher saat patch incremental
+ */
+public final class LootPoolFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-LootPools");
+
+    private LootPoolFactory() {
+    }
+
+    public static List<LootPool> createPools(CompiledMobDrops mobDrops, ResolvedRegistries resolved) {
+        if (mobDrops.getGroupSampler() != null || mobDrops.hasBudget() || mobDrops.hasConditions()) {
+            // Satu pool, satu cek player kill, satu sample untuk semua item.
+            // Mob dengan budget atau kondisi juga lewat sini karena pool vanilla tidak bisa mengeceknya.
+            LootPool groupPool = LootPool.builder()
+                    .rolls(ConstantLootNumberProvider.create(1))
+                    .with(DropGroupEntry.builder(mobDrops.getLootTableId()))
+                    .conditionally(KilledByPlayerLootCondition.builder())
+                    .build();
+            LOGGER.debug("  Added drop group for {} with {} item(s)",
+                    mobDrops.getMobId(), mobDrops.getItemDrops().size());
+            return List.of(groupPool);
+        }
+
+        RegistryEntry<Enchantment> lootingEnchantment = resolved.getLooting();
+        List<LootPool> pools = new ArrayList<>(mobDrops.getItemDrops().size());
+
+        for (CompiledItemDrop itemDrop : mobDrops.getItemDrops()) {
+            Item item = resolved.getItem(itemDrop);
+            if (item == null) {
+                continue;
+            }
+
+            LootPool.Builder poolBuilder = LootPool.builder()
+                    .rolls(ConstantLootNumberProvider.create(1));
+
+            ItemEntry.Builder<?> itemEntryBuilder = ItemEntry.builder(item);
+
+            // Uniform hanya kalau min < max, sama seperti DropRoller.rollCount
+            if (itemDrop.getMinCount() < itemDrop.getMaxCount()) {
+                itemEntryBuilder.apply(SetCountLootFunction.builder(
+                        UniformLootNumberProvider.create(
+                                (float) itemDrop.getMinCount(),
+                                (float) itemDrop.getMaxCount()
+                        )
+                ));
+            } else if (itemDrop.getMinCount() > 1) {
+                itemEntryBuilder.apply(SetCountLootFunction.builder(
+                        ConstantLootNumberProvider.create((float) itemDrop.getMinCount())
+                ));
+            }
+
+            if (itemDrop.isApplyLooting() && lootingEnchantment != null) {
+                try {
+                    // Sama dengan loot table mob vanilla: Looting dibaca dari ATTACKING_ENTITY.
+                    // ApplyBonus butuh TOOL, yang tidak ada di loot context entity.
+                    itemEntryBuilder.apply(new EnchantedCountIncreaseLootFunction.Builder(
+                            lootingEnchantment, UniformLootNumberProvider.create(0.0f, 1.0f)));
+                    LOGGER.debug("Applied looting enchantment to item: {}", itemDrop.getItemId());
+                } catch (Exception e) {
+                    LOGGER.warn("Could not apply looting enchantment to {}: {}",
+                            itemDrop.getItemId(), e.getMessage());
+                }
+            }
+
+            // Paling akhir supaya jumlah yang dicatat sudah termasuk Looting
+            itemEntryBuilder.apply(RecordDropLootFunction.builder(mobDrops.getStats().getMobId(), itemDrop.getItemId()));
+
+            poolBuilder.with(itemEntryBuilder);
+            poolBuilder.conditionally(KilledByPlayerLootCondition.builder());
+
+            if (itemDrop.getDropChance() < 1.0f) {
+                poolBuilder.conditionally(
+                        RandomChanceLootCondition.builder(itemDrop.getDropChance())
+                );
+            }
+
+            pools.add(poolBuilder.build());
+            LOGGER.debug("  Added drop: {} x{}-{} ({}% chance) with Looting: {}",
+                    itemDrop.getItemId(),
+                    itemDrop.getMinCount(),
+                    itemDrop.getMaxCount(),
+                    Math.round(itemDrop.getDropChance() * 100),
+                    itemDrop.isApplyLooting());
+        }
+
+        return pools;
+    }
+
+    /**
+     * Tambahkan pool yang sudah dibangun ke table lewat LootTable.Builder.pool (vanilla),
+     * bukan FabricLootTableBuilder.pools yang hanya ada setelah mixin Fabric terpasang.
+     * Identity pool dipertahankan supaya LootTablePatcher bisa mengenalinya.
+     */
+    public static void addPools(LootTable.Builder tableBuilder, List<LootPool> pools) {
+        for (LootPool pool : pools) {
+            tableBuilder.pool(new PrebuiltPool(pool));
+        }
+    }
+
+    /**
+     * LootPool.Builder yang build() mengembalikan pool yang sudah ada
+     */
+    private static final class PrebuiltPool extends LootPool.Builder {
+        private final LootPool pool;
+
+        private PrebuiltPool(LootPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public LootPool build() {
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.config.ModConfig;
+import net.fabricmc.fabric.api.loot.v3.LootTableEvents;
+import net.fabricmc.fabric.api.loot.v3.LootTableSource;
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Listener LootTableEvents.MODIFY: satu hash lookup per loot table,
+ * pool hanya dibangun untuk table mob yang ada di DropIndex
+ */
+public final class LootTableModifier implements LootTableEvents.Modify {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-LootModifier");
+
+    private final Supplier<DropIndex> indexSupplier;
+
+    public LootTableModifier(Supplier<DropIndex> indexSupplier) {
+        this.indexSupplier = indexSupplier;
+    }
+
+    @Override
+    public void modifyLootTable(RegistryKey<LootTable> key, LootTable.Builder tableBuilder,
+                                LootTableSource source, RegistryWrapper.WrapperLookup registries) {
+        DropIndex index = indexSupplier.get();
+        if (index.getEngine() != ModConfig.DropEngine.LOOT_TABLE) {
+            return;
+        }
+
+        CompiledMobDrops mobDrops = index.get(key.getValue(), registries);
+        if (mobDrops == null) {
+            return;
+        }
+
+        LOGGER.debug("Modifying loot table for: {}", mobDrops.getMobId());
+
+        // Pool dibangun di sini (bukan lewat builder) supaya identity-nya bisa dilacak untuk patch incremental
+        ResolvedRegistries resolved = ResolvedRegistries.get(index, registries);
+        List<LootPool> pools = LootPoolFactory.createPools(mobDrops, resolved);
+        LootPoolFactory.addPools(tableBuilder, pools);
+        LootTablePatcher.trackInjected(pools);
+    }
+}
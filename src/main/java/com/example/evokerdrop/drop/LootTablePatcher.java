@@ -0,0 +1,136 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.mixin.LootTableAccessor;
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Patch incremental untuk loot table mob: hanya table yang rule-nya berubah
+ * yang dibangun ulang, tanpa reload seluruh datapack.
+ * Table hasil patch disimpan di overlay yang dibaca oleh ReloadableRegistriesLookupMixin.
+ */
+public final class LootTablePatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-LootPatcher");
+
+    // Pool yang kita tambahkan (identity, weak supaya table lama bisa di-GC setelah /reload)
+    private static final Set<LootPool> INJECTED_POOLS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private static final Map<RegistryKey<LootTable>, LootTable> PATCHED_TABLES = new ConcurrentHashMap<>();
+
+    private LootTablePatcher() {
+    }
+
+    /**
+     * Tandai pool sebagai milik mod ini supaya bisa dibuang saat patch berikutnya
+     */
+    public static void trackInjected(Collection<LootPool> pools) {
+        INJECTED_POOLS.addAll(pools);
+    }
+
+    public static LootTable getPatched(RegistryKey<LootTable> key) {
+        if (PATCHED_TABLES.isEmpty()) {
+            return null;
+        }
+        return PATCHED_TABLES.get(key);
+    }
+
+    /**
+     * Dipanggil setelah datapack reload penuh: semua table sudah fresh dari MODIFY
+     */
+    public static void clearPatches() {
+        if (!PATCHED_TABLES.isEmpty()) {
+            LOGGER.debug("Clearing {} patched loot table(s)", PATCHED_TABLES.size());
+            PATCHED_TABLES.clear();
+        }
+    }
+
+    /**
+     * Cari loot table yang rule-nya berbeda antara index lama dan baru
+     */
+    public static Set<Identifier> findChangedTables(DropIndex oldIndex, DropIndex newIndex,
+                                                    RegistryWrapper.WrapperLookup registries) {
+        Set<Identifier> changed = new HashSet<>();
+
+        // Selector di-expand dulu ke mob yang cocok, jadi hanya table mob itu yang dianggap berubah
+        for (CompiledMobDrops oldDrops : oldIndex.lootTables(registries)) {
+            if (!Objects.equals(oldDrops, newIndex.get(oldDrops.getLootTableId(), registries))) {
+                changed.add(oldDrops.getLootTableId());
+            }
+        }
+        for (CompiledMobDrops newDrops : newIndex.lootTables(registries)) {
+            if (!Objects.equals(newDrops, oldIndex.get(newDrops.getLootTableId(), registries))) {
+                changed.add(newDrops.getLootTableId());
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Bangun ulang table yang berubah. Harus dijalankan di server thread.
+     *
+     * @return jumlah table yang berhasil di-patch
+     */
+    public static int patch(MinecraftServer server, DropIndex index, Set<Identifier> changedTables) {
+        int patched = 0;
+        ResolvedRegistries resolved = ResolvedRegistries.get(index, server.getRegistryManager());
+
+        for (Identifier lootTableId : changedTables) {
+            RegistryKey<LootTable> key = RegistryKey.of(RegistryKeys.LOOT_TABLE, lootTableId);
+
+            // Lewat lookup server, jadi patch sebelumnya ikut terbaca
+            LootTable current = server.getReloadableRegistries().getLootTable(key);
+            if (current == LootTable.EMPTY) {
+                LOGGER.debug("Loot table {} does not exist, skipping patch", lootTableId);
+                continue;
+            }
+
+            LootTableAccessor accessor = (LootTableAccessor) current;
+
+            List<LootPool> pools = new ArrayList<>();
+            for (LootPool pool : accessor.evokerdrops$getPools()) {
+                if (!INJECTED_POOLS.contains(pool)) {
+                    pools.add(pool);
+                }
+            }
+
+            CompiledMobDrops mobDrops = index.get(lootTableId, server.getRegistryManager());
+            if (mobDrops != null) {
+                List<LootPool> newPools = LootPoolFactory.createPools(mobDrops, resolved);
+                trackInjected(newPools);
+                pools.addAll(newPools);
+            }
+
+            LootTable.Builder builder = LootTable.builder()
+                    .type(current.getType())
+                    .apply(accessor.evokerdrops$getFunctions());
+            LootPoolFactory.addPools(builder, pools);
+            accessor.evokerdrops$getRandomSequenceId().ifPresent(builder::randomSequenceId);
+
+            PATCHED_TABLES.put(key, builder.build());
+            patched++;
+            LOGGER.debug("Patched loot table {} ({} pool(s))", lootTableId, pools.size());
+        }
+
+        return patched;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnGroup;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.entry.RegistryEntryList;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Selector mob selain id persis:
+ * <ul>
+ *     <li>{@code #minecraft:raiders} - tag entity type</li>
+ *     <li>{@code modid:*} - semua entity dari satu namespace</li>
+ *     <li>{@code @monster} - semua entity dari satu spawn group</li>
+ * </ul>
+ * Di-resolve ke BitSet berdasarkan raw id EntityType.
+ */
+public final class MobSelector {
+    private final String source;
+    private final TagKey<EntityType<?>> tag;
+    private final String namespace;
+    private final SpawnGroup spawnGroup;
+
+    private MobSelector(String source, TagKey<EntityType<?>> tag, String namespace, SpawnGroup spawnGroup) {
+        this.source = source;
+        this.tag = tag;
+        this.namespace = namespace;
+        this.spawnGroup = spawnGroup;
+    }
+
+    /**
+     * True kalau mobId ini bukan id persis melainkan selector
+     */
+    public static boolean isSelector(String mobId) {
+        return mobId != null && (mobId.startsWith("#") || mobId.startsWith("@") || mobId.endsWith(":*"));
+    }
+
+    /**
+     * Parse selector, null kalau format tidak valid
+     */
+    public static MobSelector parse(String mobId) {
+        if (mobId.startsWith("#")) {
+            Identifier tagId = Identifier.tryParse(mobId.substring(1));
+            return tagId != null ? new MobSelector(mobId, TagKey.of(RegistryKeys.ENTITY_TYPE, tagId), null, null) : null;
+        }
+        if (mobId.startsWith("@")) {
+            String name = mobId.substring(1).toLowerCase(Locale.ROOT);
+            for (SpawnGroup group : SpawnGroup.values()) {
+                if (group.asString().equals(name)) {
+                    return new MobSelector(mobId, null, null, group);
+                }
+            }
+            return null;
+        }
+        if (mobId.endsWith(":*")) {
+            String namespace = mobId.substring(0, mobId.length() - 2);
+            return Identifier.isNamespaceValid(namespace) ? new MobSelector(mobId, null, namespace, null) : null;
+        }
+        return null;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Raw id semua EntityType yang cocok. Tag dibaca dari registries yang diberikan,
+     * jadi tag dari datapack yang sedang di-load ikut terbaca saat MODIFY.
+     */
+    public BitSet resolve(RegistryWrapper.WrapperLookup registries) {
+        BitSet matched = new BitSet(Registries.ENTITY_TYPE.size());
+
+        if (tag != null) {
+            Optional<RegistryEntryList.Named<EntityType<?>>> entries = registries
+                    .getOrThrow(RegistryKeys.ENTITY_TYPE)
+                    .getOptional(tag);
+            if (entries.isPresent()) {
+                for (RegistryEntry<EntityType<?>> entry : entries.get()) {
+                    matched.set(Registries.ENTITY_TYPE.getRawId(entry.value()));
+                }
+            }
+            return matched;
+        }
+
+        for (EntityType<?> type : Registries.ENTITY_TYPE) {
+            boolean matches = spawnGroup != null
+                    ? type.getSpawnGroup() == spawnGroup
+                    : Registries.ENTITY_TYPE.getId(type).getNamespace().equals(namespace);
+            if (matches) {
+                matched.set(Registries.ENTITY_TYPE.getRawId(type));
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.item.ItemStack;
+import net.minecraft.loot.context.LootContext;
+import net.minecraft.loot.function.LootFunction;
+import net.minecraft.loot.function.LootFunctionType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+/**
+ * Loot function terakhir di setiap pool item biasa: mencatat stack yang jadi drop
+ * ke DropMetrics tanpa mengubah stack-nya
+ */
+public class RecordDropLootFunction implements LootFunction {
+    public static final MapCodec<RecordDropLootFunction> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                    Codec.STRING.fieldOf("mob").forGetter(function -> function.mobId),
+                    Codec.STRING.fieldOf("item").forGetter(function -> function.itemId)
+            )
+            .apply(instance, RecordDropLootFunction::new));
+
+    public static final LootFunctionType<RecordDropLootFunction> TYPE = new LootFunctionType<>(CODEC);
+
+    // Mob id atau selector, sama dengan key di DropMetrics
+    private final String mobId;
+    private final String itemId;
+    private final DropMetrics.ItemStats stats;
+
+    private RecordDropLootFunction(String mobId, String itemId) {
+        this.mobId = mobId;
+        this.itemId = itemId;
+        this.stats = DropMetrics.forMob(mobId).forItem(itemId);
+    }
+
+    public static void register() {
+        Registry.register(Registries.LOOT_FUNCTION_TYPE,
+                Identifier.of(EvokerDropsMod.MOD_ID, "record_drop"), TYPE);
+    }
+
+    public static LootFunction.Builder builder(String mobId, String itemId) {
+        return () -> new RecordDropLootFunction(mobId, itemId);
+    }
+
+    @Override
+    public LootFunctionType<RecordDropLootFunction> getType() {
+        return TYPE;
+    }
+
+    @Override
+    public ItemStack apply(ItemStack stack, LootContext context) {
+        if (!stack.isEmpty()) {
+            stats.recordDrop(stack.getCount());
+        }
+        return stack;
+    }
+}
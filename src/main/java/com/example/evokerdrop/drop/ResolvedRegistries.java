@@ -0,0 +1,117 @@
+package com.example.evokerdrop.drop;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hasil resolve registry yang dipakai bersama oleh semua rule di satu DropIndex.
+ * Disimpan di DropIndex itu sendiri: item (registry statis) di-resolve sekali per index,
+ * Looting (registry dinamis) sekali per registry lookup. Lookup reload dan lookup world
+ * yang bergantian saat datapack reload tidak me-resolve ulang item.
+ */
+public final class ResolvedRegistries {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EvokerDrops-Registries");
+
+    private final RegistryWrapper.WrapperLookup registries;
+    private final RegistryEntry<Enchantment> looting;
+    private final Item[] items;
+
+    private ResolvedRegistries(RegistryWrapper.WrapperLookup registries, RegistryEntry<Enchantment> looting,
+                               Item[] items) {
+        this.registries = registries;
+        this.looting = looting;
+        this.items = items;
+    }
+
+    /**
+     * Ambil hasil resolve untuk index dan registry ini. Item hanya di-resolve sekali per index;
+     * registry lookup lain cukup membaca ulang Looting.
+     */
+    public static ResolvedRegistries get(DropIndex index, RegistryWrapper.WrapperLookup registries) {
+        ResolvedRegistries current = index.getResolved();
+        if (current != null && current.registries == registries) {
+            return current;
+        }
+
+        Item[] items = current != null ? current.items : resolveItems(index);
+        current = new ResolvedRegistries(registries, resolveLooting(registries), items);
+        index.setResolved(current);
+        return current;
+    }
+
+    private static RegistryEntry<Enchantment> resolveLooting(RegistryWrapper.WrapperLookup registries) {
+        RegistryEntry<Enchantment> looting = null;
+        try {
+            Optional<RegistryEntry.Reference<Enchantment>> lootingOpt = registries
+                    .getOrThrow(RegistryKeys.ENCHANTMENT)
+                    .getOptional(Enchantments.LOOTING);
+
+            if (lootingOpt.isPresent()) {
+                looting = lootingOpt.get();
+            } else {
+                LOGGER.warn("Looting enchantment not found in registry, Looting will not be applied to drops");
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Could not get Looting enchantment from registry: {}", e.getMessage());
+        }
+
+        return looting;
+    }
+
+    private static Item[] resolveItems(DropIndex index) {
+        List<String> slotItemIds = index.getItemSlots();
+        Item[] items = new Item[slotItemIds.size()];
+        for (int slot = 0; slot < items.length; slot++) {
+            items[slot] = resolveItem(slotItemIds.get(slot));
+        }
+
+        LOGGER.debug("Resolved {} item slot(s)", items.length);
+        return items;
+    }
+
+    private static Item resolveItem(String itemId) {
+        try {
+            Identifier id = Identifier.tryParse(itemId);
+            if (id == null) {
+                LOGGER.error("Invalid item ID: {}", itemId);
+                return null;
+            }
+
+            Item item = Registries.ITEM.get(id);
+            if (item == null || item == Items.AIR) {
+                LOGGER.error("Item not found: {}", itemId);
+                return null;
+            }
+            return item;
+        } catch (Exception e) {
+            LOGGER.error("Error getting item: {}", itemId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Enchantment Looting, null kalau tidak ada di registry
+     */
+    public RegistryEntry<Enchantment> getLooting() {
+        return looting;
+    }
+
+    /**
+     * Item untuk drop ini, null kalau id tidak valid
+     */
+    public Item getItem(CompiledItemDrop itemDrop) {
+        return items[itemDrop.getSlot()];
+    }
+}
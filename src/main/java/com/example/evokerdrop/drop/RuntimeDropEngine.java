@@ -0,0 +1,109 @@
+package com.example.evokerdrop.drop;
+
+import com.example.evokerdrop.EvokerDropsMod;
+import com.example.evokerdrop.config.ModConfig;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.GameRules;
+
+import java.util.function.Consumer;
+
+/**
+ * Drop engine alternatif: drop di-roll langsung saat mob mati berdasarkan
+ * DropIndex yang sedang aktif, jadi perubahan config tidak perlu resource reload.
+ * Event kematian ini juga dipakai untuk menghitung kill di DropMetrics untuk kedua engine.
+ */
+public final class RuntimeDropEngine {
+
+    private RuntimeDropEngine() {
+    }
+
+    public static void register() {
+        ServerLivingEntityEvents.AFTER_DEATH.register(RuntimeDropEngine::onEntityDeath);
+        DropAggregator.register();
+    }
+
+    private static void onEntityDeath(LivingEntity entity, DamageSource damageSource) {
+        // Satu volatile read = snapshot rule yang konsisten untuk kill ini
+        DropIndex index = EvokerDropsMod.getDropIndex();
+        // Config yang hanya berisi selector (@monster, #tag, modid:*) tetap harus lanjut
+        if (index.isEmpty()) {
+            return;
+        }
+
+        if (!(entity.getWorld() instanceof ServerWorld world)) {
+            return;
+        }
+
+        CompiledMobDrops mobDrops = index.getByEntity(entity.getType(), world.getRegistryManager());
+        if (mobDrops == null || mobDrops.getItemDrops().isEmpty()) {
+            return;
+        }
+
+        // Sama seperti KilledByPlayerLootCondition (LAST_DAMAGE_PLAYER) di engine loot table:
+        // kill oleh pet atau damage tidak langsung dari player juga dihitung
+        PlayerEntity player = entity.getAttackingPlayer();
+        if (player == null) {
+            return;
+        }
+
+        mobDrops.getStats().recordKill();
+
+        if (!world.getGameRules().getBoolean(GameRules.DO_MOB_LOOT)) {
+            return;
+        }
+
+        if (!mobDrops.isRolledByMod(index.getEngine())) {
+            // Pool vanilla per item tidak lewat DropRoller: setiap pool di-roll sekali per player kill
+            for (CompiledItemDrop itemDrop : mobDrops.getItemDrops()) {
+                itemDrop.getStats().recordRoll();
+            }
+            return;
+        }
+
+        if (index.getEngine() != ModConfig.DropEngine.RUNTIME) {
+            return;
+        }
+
+        ResolvedRegistries resolved = ResolvedRegistries.get(index, world.getRegistryManager());
+        RegistryEntry<Enchantment> looting = resolved.getLooting();
+        // Looting dari ATTACKING_ENTITY, sama seperti DropGroupEntry dan pool vanilla
+        Entity attacker = damageSource.getAttacker();
+        int lootingLevel = looting != null && attacker instanceof LivingEntity livingAttacker
+                ? EnchantmentHelper.getEquipmentLevel(looting, livingAttacker)
+                : 0;
+        Random random = entity.getRandom();
+        DropContext context = DropContext.of(world, entity.getPos(), player);
+
+        Consumer<ItemStack> worldDrop;
+        if (index.isCoalesceDrops()) {
+            Vec3d deathPos = entity.getPos();
+            worldDrop = stack -> DropAggregator.add(world, deathPos, stack);
+        } else {
+            worldDrop = stack -> entity.dropStack(world, stack);
+        }
+
+        if (mobDrops.isDeliverToInventory() && player instanceof ServerPlayerEntity serverPlayer) {
+            // Inventory di-sync oleh screen handler sekali per tick, jadi tidak ada packet per item
+            DropRoller.rollMob(mobDrops, resolved, random, lootingLevel, context, stack -> {
+                serverPlayer.getInventory().insertStack(stack);
+                if (!stack.isEmpty()) {
+                    worldDrop.accept(stack);
+                }
+            });
+        } else {
+            DropRoller.rollMob(mobDrops, resolved, random, lootingLevel, context, worldDrop);
+        }
+    }
+}
@@ -39,7 +39,7 @@ public class KeybindHandler {
                         try {
                             client.setScreen(ClothConfigScreen.createConfigScreen(
                                     client.currentScreen,
-                                    EvokerDropsMod.getConfig()
+                                    EvokerDropsMod.getSnapshot()
                             ));
                             EvokerDropsMod.LOGGER.info("Config screen opened via keybind");
                         } catch (Exception e) {
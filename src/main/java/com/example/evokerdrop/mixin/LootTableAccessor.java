@@ -0,0 +1,27 @@
+package com.example.evokerdrop.mixin;
+
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.loot.function.LootFunction;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Akses ke isi LootTable supaya table bisa dibangun ulang tanpa pool lama kita
+ */
+@Mixin(LootTable.class)
+public interface LootTableAccessor {
+
+    @Accessor("pools")
+    List<LootPool> evokerdrops$getPools();
+
+    @Accessor("functions")
+    List<LootFunction> evokerdrops$getFunctions();
+
+    @Accessor("randomSequenceId")
+    Optional<Identifier> evokerdrops$getRandomSequenceId();
+}
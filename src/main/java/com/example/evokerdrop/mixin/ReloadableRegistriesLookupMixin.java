@@ -0,0 +1,25 @@
+package com.example.evokerdrop.mixin;
+
+import com.example.evokerdrop.drop.LootTablePatcher;
+import net.minecraft.loot.LootTable;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.ReloadableRegistries;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Loot table yang sudah di-patch incremental diambil dari overlay LootTablePatcher
+ */
+@Mixin(ReloadableRegistries.Lookup.class)
+public abstract class ReloadableRegistriesLookupMixin {
+
+    @Inject(method = "getLootTable", at = @At("HEAD"), cancellable = true)
+    private void evokerdrops$getPatchedLootTable(RegistryKey<LootTable> key, CallbackInfoReturnable<LootTable> cir) {
+        LootTable patched = LootTablePatcher.getPatched(key);
+        if (patched != null) {
+            cir.setReturnValue(patched);
+        }
+    }
+}
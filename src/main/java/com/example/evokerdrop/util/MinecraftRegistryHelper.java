@@ -1,73 +1,144 @@
 package com.example.evokerdrop.util;
 
+import com.example.evokerdrop.drop.MobSelector;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnGroup;
 import net.minecraft.item.Item;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Language;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class MinecraftRegistryHelper {
 
+    // Dibangun sekali setelah registry freeze, dibangun ulang hanya kalau ukuran registry berubah
+    private static volatile RegistryIdIndex mobIndex;
+    private static volatile RegistryIdIndex itemIndex;
+    // Index pencarian ikut dibangun ulang kalau index id atau bahasa berganti
+    private static volatile CachedSearch mobSearch;
+    private static volatile CachedSearch itemSearch;
+
+    /**
+     * Index mob yang bisa dipilih di GUI (cached)
+     */
+    public static RegistryIdIndex getMobIndex() {
+        RegistryIdIndex index = mobIndex;
+        int registrySize = Registries.ENTITY_TYPE.size();
+        if (index == null || index.getRegistrySize() != registrySize) {
+            index = new RegistryIdIndex(registrySize, collectMobIds());
+            mobIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Index item yang bisa dipilih di GUI (cached)
+     */
+    public static RegistryIdIndex getItemIndex() {
+        RegistryIdIndex index = itemIndex;
+        int registrySize = Registries.ITEM.size();
+        if (index == null || index.getRegistrySize() != registrySize) {
+            index = new RegistryIdIndex(registrySize, collectItemIds());
+            itemIndex = index;
+        }
+        return index;
+    }
+
     /**
-     * Get all available mob IDs from the entity registry
+     * Index pencarian mob (id + nama terlokalisasi)
+     */
+    public static SearchIndex getMobSearchIndex() {
+        RegistryIdIndex ids = getMobIndex();
+        Language language = Language.getInstance();
+        CachedSearch cached = mobSearch;
+        if (cached == null || cached.ids() != ids || cached.language() != language) {
+            cached = new CachedSearch(ids, language, SearchIndex.build(ids.getIds(), MinecraftRegistryHelper::getMobDisplayName));
+            mobSearch = cached;
+        }
+        return cached.index();
+    }
+
+    /**
+     * Index pencarian item (id + nama terlokalisasi)
+     */
+    public static SearchIndex getItemSearchIndex() {
+        RegistryIdIndex ids = getItemIndex();
+        Language language = Language.getInstance();
+        CachedSearch cached = itemSearch;
+        if (cached == null || cached.ids() != ids || cached.language() != language) {
+            cached = new CachedSearch(ids, language, SearchIndex.build(ids.getIds(), MinecraftRegistryHelper::getItemDisplayName));
+            itemSearch = cached;
+        }
+        return cached.index();
+    }
+
+    /**
+     * Get all available mob IDs from the entity registry (sorted, read-only)
      */
     public static List<String> getAllMobIds() {
-        List<String> mobIds = new ArrayList<>();
-
-        // Add common hostile mobs first
-        mobIds.add("minecraft:zombie");
-        mobIds.add("minecraft:skeleton");
-        mobIds.add("minecraft:creeper");
-        mobIds.add("minecraft:spider");
-        mobIds.add("minecraft:cave_spider");
-        mobIds.add("minecraft:enderman");
-        mobIds.add("minecraft:evoker");
-        mobIds.add("minecraft:vindicator");
-        mobIds.add("minecraft:pillager");
-        mobIds.add("minecraft:witch");
-        mobIds.add("minecraft:ravager");
-        mobIds.add("minecraft:vex");
-        mobIds.add("minecraft:blaze");
-        mobIds.add("minecraft:ghast");
-        mobIds.add("minecraft:magma_cube");
-        mobIds.add("minecraft:slime");
-        mobIds.add("minecraft:wither_skeleton");
-        mobIds.add("minecraft:piglin");
-        mobIds.add("minecraft:piglin_brute");
-        mobIds.add("minecraft:hoglin");
-        mobIds.add("minecraft:zoglin");
-        mobIds.add("minecraft:zombified_piglin");
-        mobIds.add("minecraft:guardian");
-        mobIds.add("minecraft:elder_guardian");
-        mobIds.add("minecraft:shulker");
-        mobIds.add("minecraft:phantom");
-        mobIds.add("minecraft:drowned");
-        mobIds.add("minecraft:husk");
-        mobIds.add("minecraft:stray");
-        mobIds.add("minecraft:silverfish");
-        mobIds.add("minecraft:endermite");
+        return getMobIndex().getIds();
+    }
+
+    /**
+     * Get all available item IDs from the item registry (sorted, read-only)
+     */
+    public static List<String> getAllItemIds() {
+        return getItemIndex().getIds();
+    }
+
+    private static Set<String> collectMobIds() {
+        Set<String> ids = new HashSet<>();
+
+        // Common hostile mobs, tetap ada walau registry gagal dibaca
+        ids.add("minecraft:zombie");
+        ids.add("minecraft:skeleton");
+        ids.add("minecraft:creeper");
+        ids.add("minecraft:spider");
+        ids.add("minecraft:cave_spider");
+        ids.add("minecraft:enderman");
+        ids.add("minecraft:evoker");
+        ids.add("minecraft:vindicator");
+        ids.add("minecraft:pillager");
+        ids.add("minecraft:witch");
+        ids.add("minecraft:ravager");
+        ids.add("minecraft:vex");
+        ids.add("minecraft:blaze");
+        ids.add("minecraft:ghast");
+        ids.add("minecraft:magma_cube");
+        ids.add("minecraft:slime");
+        ids.add("minecraft:wither_skeleton");
+        ids.add("minecraft:piglin");
+        ids.add("minecraft:piglin_brute");
+        ids.add("minecraft:hoglin");
+        ids.add("minecraft:zoglin");
+        ids.add("minecraft:zombified_piglin");
+        ids.add("minecraft:guardian");
+        ids.add("minecraft:elder_guardian");
+        ids.add("minecraft:shulker");
+        ids.add("minecraft:phantom");
+        ids.add("minecraft:drowned");
+        ids.add("minecraft:husk");
+        ids.add("minecraft:stray");
+        ids.add("minecraft:silverfish");
+        ids.add("minecraft:endermite");
 
         // Boss mobs
-        mobIds.add("minecraft:wither");
-        mobIds.add("minecraft:ender_dragon");
+        ids.add("minecraft:wither");
+        ids.add("minecraft:ender_dragon");
 
         // Boss mobs
-        mobIds.add("minecraft:iron_golem");
-        mobIds.add("minecraft:snow_golem");
+        ids.add("minecraft:iron_golem");
+        ids.add("minecraft:snow_golem");
 
         // Get all registered entities that are monsters or creatures
         try {
             for (EntityType<?> entityType : Registries.ENTITY_TYPE) {
                 Identifier id = Registries.ENTITY_TYPE.getId(entityType);
                 if (id != null) {
-                    String entityId = id.toString();
-
                     // Check if entity is a living mob (has spawn group)
                     SpawnGroup spawnGroup = entityType.getSpawnGroup();
                     if (spawnGroup == SpawnGroup.MONSTER ||
@@ -77,10 +148,7 @@ public class MinecraftRegistryHelper {
                             spawnGroup == SpawnGroup.WATER_AMBIENT ||
                             spawnGroup == SpawnGroup.UNDERGROUND_WATER_CREATURE ||
                             spawnGroup == SpawnGroup.AXOLOTLS) {
-
-                        if (!mobIds.contains(entityId)) {
-                            mobIds.add(entityId);
-                        }
+                        ids.add(id.toString());
                     }
                 }
             }
@@ -88,41 +156,37 @@ public class MinecraftRegistryHelper {
             // Fallback to predefined list if registry access fails
         }
 
-        Collections.sort(mobIds);
-        return mobIds;
+        return ids;
     }
 
-    /**
-     * Get all available item IDs from the item registry
-     */
-    public static List<String> getAllItemIds() {
-        List<String> itemIds = new ArrayList<>();
-
-        // Add common valuable items first
-        itemIds.add("minecraft:diamond");
-        itemIds.add("minecraft:emerald");
-        itemIds.add("minecraft:netherite_ingot");
-        itemIds.add("minecraft:netherite_scrap");
-        itemIds.add("minecraft:ancient_debris");
-        itemIds.add("minecraft:iron_ingot");
-        itemIds.add("minecraft:gold_ingot");
-        itemIds.add("minecraft:ender_pearl");
-        itemIds.add("minecraft:blaze_rod");
-        itemIds.add("minecraft:nether_star");
-        itemIds.add("minecraft:elytra");
-        itemIds.add("minecraft:totem_of_undying");
-        itemIds.add("minecraft:enchanted_golden_apple");
-        itemIds.add("minecraft:golden_apple");
-        itemIds.add("minecraft:heart_of_the_sea");
-        itemIds.add("minecraft:trident");
-        itemIds.add("minecraft:shulker_shell");
-        itemIds.add("minecraft:dragon_breath");
-        itemIds.add("minecraft:phantom_membrane");
-        itemIds.add("minecraft:prismarine_shard");
-        itemIds.add("minecraft:prismarine_crystals");
-        itemIds.add("minecraft:echo_shard");
-        itemIds.add("minecraft:netherite_upgrade_smithing_template");
-        itemIds.add("minecraft:experience_bottle");
+    private static Set<String> collectItemIds() {
+        Set<String> ids = new HashSet<>();
+
+        // Common valuable items, tetap ada walau registry gagal dibaca
+        ids.add("minecraft:diamond");
+        ids.add("minecraft:emerald");
+        ids.add("minecraft:netherite_ingot");
+        ids.add("minecraft:netherite_scrap");
+        ids.add("minecraft:ancient_debris");
+        ids.add("minecraft:iron_ingot");
+        ids.add("minecraft:gold_ingot");
+        ids.add("minecraft:ender_pearl");
+        ids.add("minecraft:blaze_rod");
+        ids.add("minecraft:nether_star");
+        ids.add("minecraft:elytra");
+        ids.add("minecraft:totem_of_undying");
+        ids.add("minecraft:enchanted_golden_apple");
+        ids.add("minecraft:golden_apple");
+        ids.add("minecraft:heart_of_the_sea");
+        ids.add("minecraft:trident");
+        ids.add("minecraft:shulker_shell");
+        ids.add("minecraft:dragon_breath");
+        ids.add("minecraft:phantom_membrane");
+        ids.add("minecraft:prismarine_shard");
+        ids.add("minecraft:prismarine_crystals");
+        ids.add("minecraft:echo_shard");
+        ids.add("minecraft:netherite_upgrade_smithing_template");
+        ids.add("minecraft:experience_bottle");
 
         // Get all registered items
         try {
@@ -130,10 +194,7 @@ public class MinecraftRegistryHelper {
                 if (item != Items.AIR) {
                     Identifier id = Registries.ITEM.getId(item);
                     if (id != null) {
-                        String itemId = id.toString();
-                        if (!itemIds.contains(itemId)) {
-                            itemIds.add(itemId);
-                        }
+                        ids.add(id.toString());
                     }
                 }
             }
@@ -141,45 +202,97 @@ public class MinecraftRegistryHelper {
             // Fallback to predefined list if registry access fails
         }
 
-        Collections.sort(itemIds);
-        return itemIds;
+        return ids;
+    }
+
+    private static String getMobDisplayName(String mobId) {
+        try {
+            Identifier id = Identifier.tryParse(mobId);
+            if (id != null && Registries.ENTITY_TYPE.containsId(id)) {
+                return Registries.ENTITY_TYPE.get(id).getName().getString();
+            }
+        } catch (Exception e) {
+            // Nama dari id saja
+        }
+        return formatDisplayName(mobId);
+    }
+
+    private static String getItemDisplayName(String itemId) {
+        try {
+            Identifier id = Identifier.tryParse(itemId);
+            if (id != null && Registries.ITEM.containsId(id)) {
+                return Registries.ITEM.get(id).getName().getString();
+            }
+        } catch (Exception e) {
+            // Nama dari id saja
+        }
+        return formatDisplayName(itemId);
+    }
+
+    /**
+     * Nama tampilan dari id: minecraft:wither_skeleton -> Wither Skeleton
+     */
+    public static String formatDisplayName(String id) {
+        if (id == null || id.isEmpty()) return "Unknown";
+        String[] parts = id.split(":");
+        String path = parts.length == 2 ? parts[1] : id;
+
+        String[] words = path.replace("_", " ").split(" ");
+        StringBuilder result = new StringBuilder();
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                result.append(Character.toUpperCase(word.charAt(0)))
+                        .append(word.substring(1).toLowerCase())
+                        .append(" ");
+            }
+        }
+        return result.toString().trim();
     }
 
     /**
-     * Get filtered mob IDs based on search term
+     * Get filtered mob IDs based on search term, best match first
      */
     public static List<String> searchMobs(String searchTerm) {
-        if (searchTerm == null || searchTerm.isEmpty()) {
+        return searchMobs(searchTerm, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Top limit mob IDs for the search term (id or localized name)
+     */
+    public static List<String> searchMobs(String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
             return getAllMobIds();
         }
-
-        String search = searchTerm.toLowerCase();
-        return getAllMobIds().stream()
-                .filter(mobId -> mobId.toLowerCase().contains(search))
-                .collect(Collectors.toList());
+        return getMobSearchIndex().searchIds(searchTerm, limit);
     }
 
     /**
-     * Get filtered item IDs based on search term
+     * Get filtered item IDs based on search term, best match first
      */
     public static List<String> searchItems(String searchTerm) {
-        if (searchTerm == null || searchTerm.isEmpty()) {
+        return searchItems(searchTerm, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Top limit item IDs for the search term (id or localized name)
+     */
+    public static List<String> searchItems(String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
             return getAllItemIds();
         }
-
-        String search = searchTerm.toLowerCase();
-        return getAllItemIds().stream()
-                .filter(itemId -> itemId.toLowerCase().contains(search))
-                .collect(Collectors.toList());
+        return getItemSearchIndex().searchIds(searchTerm, limit);
     }
 
     /**
-     * Check if a mob ID is valid
+     * Check if a mob ID (or selector: #tag, namespace:*, @spawn_group) is valid
      */
     public static boolean isValidMobId(String mobId) {
         if (mobId == null || mobId.isEmpty()) {
             return false;
         }
+        if (MobSelector.isSelector(mobId)) {
+            return MobSelector.parse(mobId) != null;
+        }
 
         try {
             Identifier id = Identifier.tryParse(mobId);
@@ -214,4 +327,7 @@ public class MinecraftRegistryHelper {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private record CachedSearch(RegistryIdIndex ids, Language language, SearchIndex index) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.evokerdrop.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index id registry yang immutable: array id terurut, hash set untuk cek cepat,
+ * dan nama tampilan untuk dropdown GUI. Dibangun sekali oleh MinecraftRegistryHelper
+ * dan dipakai ulang sampai ukuran registry berubah.
+ */
+public final class RegistryIdIndex {
+    private final int registrySize;
+    private final String[] sortedIds;
+    private final List<String> ids;
+    private final Set<String> idSet;
+    private final List<String> displayNames;
+    private final Map<String, String> displayNameToId;
+
+    RegistryIdIndex(int registrySize, Collection<String> ids) {
+        this.registrySize = registrySize;
+        this.idSet = Collections.unmodifiableSet(new HashSet<>(ids));
+        this.sortedIds = idSet.toArray(new String[0]);
+        Arrays.sort(sortedIds);
+        this.ids = Collections.unmodifiableList(Arrays.asList(sortedIds));
+
+        String[] names = new String[sortedIds.length];
+        Map<String, String> nameToId = new HashMap<>(sortedIds.length * 2);
+        for (int i = 0; i < sortedIds.length; i++) {
+            names[i] = MinecraftRegistryHelper.formatDisplayName(sortedIds[i]);
+            nameToId.put(names[i], sortedIds[i]);
+        }
+        this.displayNames = Collections.unmodifiableList(Arrays.asList(names));
+        this.displayNameToId = Collections.unmodifiableMap(nameToId);
+    }
+
+    /**
+     * Ukuran registry saat index dibangun, dipakai untuk deteksi registry berubah
+     */
+    int getRegistrySize() {
+        return registrySize;
+    }
+
+    /**
+     * Semua id, urut alfabet (read-only)
+     */
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public int size() {
+        return sortedIds.length;
+    }
+
+    public boolean contains(String id) {
+        return idSet.contains(id);
+    }
+
+    /**
+     * Nama tampilan, urutannya sama dengan getIds()
+     */
+    public List<String> getDisplayNames() {
+        return displayNames;
+    }
+
+    /**
+     * Id untuk nama tampilan dari dropdown, null kalau tidak dikenal
+     */
+    public String getIdForDisplayName(String displayName) {
+        return displayNameToId.get(displayName);
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.evokerdrop.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongComparators;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Index pencarian untuk picker mob/item: id dan nama terlokalisasi di-lowercase sekali,
+ * lalu trigram setiap option disimpan sebagai posting list (index option, terurut).
+ * Query dicocokkan hanya ke kandidat hasil irisan posting list, diberi rank
+ * (exact > prefix > prefix kata > substring > fuzzy) dan hanya top K yang dikembalikan.
+ */
+public final class SearchIndex {
+    public static final int RANK_EXACT = 0;
+    public static final int RANK_PREFIX = 1;
+    public static final int RANK_TOKEN_PREFIX = 2;
+    public static final int RANK_SUBSTRING = 3;
+    public static final int RANK_FUZZY = 4;
+
+    private static final int[] NO_RESULTS = new int[0];
+
+    private final String[] ids;
+    private final String[] lowerIds;
+    // Bagian setelah namespace, "minecraft:diamond_sword" -> "diamond_sword"
+    private final String[] lowerPaths;
+    private final String[] lowerNames;
+    // Trigram (3 char dipack ke long) -> index option yang mengandungnya, terurut naik
+    private final Long2ObjectOpenHashMap<int[]> postings;
+
+    private SearchIndex(String[] ids, String[] lowerIds, String[] lowerPaths, String[] lowerNames,
+                        Long2ObjectOpenHashMap<int[]> postings) {
+        this.ids = ids;
+        this.lowerIds = lowerIds;
+        this.lowerPaths = lowerPaths;
+        this.lowerNames = lowerNames;
+        this.postings = postings;
+    }
+
+    /**
+     * Bangun index untuk id ini (urutan dipertahankan), nameLookup memberi nama tampilan per id
+     */
+    public static SearchIndex build(List<String> options, Function<String, String> nameLookup) {
+        int size = options.size();
+        String[] ids = options.toArray(new String[0]);
+        String[] lowerIds = new String[size];
+        String[] lowerPaths = new String[size];
+        String[] lowerNames = new String[size];
+
+        Long2ObjectOpenHashMap<IntArrayList> lists = new Long2ObjectOpenHashMap<>();
+        LongOpenHashSet docTrigrams = new LongOpenHashSet();
+        for (int i = 0; i < size; i++) {
+            lowerIds[i] = ids[i].toLowerCase(Locale.ROOT);
+            int colon = lowerIds[i].indexOf(':');
+            lowerPaths[i] = colon >= 0 ? lowerIds[i].substring(colon + 1) : lowerIds[i];
+            String name = nameLookup.apply(ids[i]);
+            lowerNames[i] = name != null ? name.toLowerCase(Locale.ROOT) : lowerPaths[i];
+
+            docTrigrams.clear();
+            addTrigrams(lowerIds[i], docTrigrams);
+            addTrigrams(lowerNames[i], docTrigrams);
+            for (long trigram : docTrigrams) {
+                lists.computeIfAbsent(trigram, t -> new IntArrayList(4)).add(i);
+            }
+        }
+
+        Long2ObjectOpenHashMap<int[]> postings = new Long2ObjectOpenHashMap<>(lists.size());
+        for (Long2ObjectOpenHashMap.Entry<IntArrayList> entry : lists.long2ObjectEntrySet()) {
+            postings.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+        return new SearchIndex(ids, lowerIds, lowerPaths, lowerNames, postings);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Id untuk top K hasil query, urut berdasarkan rank
+     */
+    public List<String> searchIds(String query, int limit) {
+        int[] matches = search(query, limit);
+        List<String> result = new ArrayList<>(matches.length);
+        for (int index : matches) {
+            result.add(ids[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Index option untuk top K hasil query, urut berdasarkan rank lalu panjang id.
+     * Query kosong mengembalikan K option pertama.
+     */
+    public int[] search(String query, int limit) {
+        if (limit <= 0) {
+            return NO_RESULTS;
+        }
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            int[] first = new int[Math.min(limit, ids.length)];
+            Arrays.setAll(first, i -> i);
+            return first;
+        }
+
+        // Max-heap dengan key terburuk di atas, jadi selalu berisi K terbaik
+        LongHeapPriorityQueue best = new LongHeapPriorityQueue(Math.min(limit, 64), LongComparators.OPPOSITE_COMPARATOR);
+
+        long[] queryTrigrams = trigramsOf(q);
+        if (queryTrigrams.length == 0) {
+            // Query 1-2 huruf: tidak ada trigram, scan string yang sudah di-lowercase
+            for (int i = 0; i < ids.length; i++) {
+                offer(best, limit, rank(i, q), ids[i].length(), i);
+            }
+            return drain(best);
+        }
+
+        int[] candidates = intersect(queryTrigrams);
+        for (int index : candidates) {
+            offer(best, limit, rank(index, q), ids[index].length(), index);
+        }
+
+        if (best.size() < limit) {
+            addFuzzy(best, limit, q, queryTrigrams);
+        }
+        return drain(best);
+    }
+
+    /**
+     * Semua option yang cocok dengan query (rank exact s/d substring, tanpa fuzzy), urut index.
+     * Kalau query baru mengandung query ini, hasilnya bisa dipersempit lewat narrow().
+     */
+    public int[] matches(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            int[] all = new int[ids.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        long[] queryTrigrams = trigramsOf(q);
+        if (queryTrigrams.length == 0) {
+            // Query 1-2 huruf: tidak ada trigram, scan semua
+            return filter(null, ids.length, q);
+        }
+        int[] candidates = intersect(queryTrigrams);
+        return filter(candidates, candidates.length, q);
+    }
+
+    /**
+     * Subset dari matches (hasil matches() untuk query yang terkandung di query ini)
+     * yang masih cocok. Setiap option yang cocok dengan query ini pasti cocok dengan
+     * query yang lebih pendek, jadi hasilnya sama dengan matches(query).
+     */
+    public int[] narrow(int[] matches, String query) {
+        String q = normalize(query);
+        return q.isEmpty() ? matches : filter(matches, matches.length, q);
+    }
+
+    /**
+     * Top K dari matches untuk query, urut rank lalu panjang id. Kalau kurang dari K,
+     * ditambah hasil fuzzy seperti search().
+     */
+    public int[] rankTop(int[] matches, String query, int limit) {
+        if (limit <= 0) {
+            return NO_RESULTS;
+        }
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return matches.length <= limit ? matches : Arrays.copyOf(matches, limit);
+        }
+
+        LongHeapPriorityQueue best = new LongHeapPriorityQueue(Math.min(limit, 64), LongComparators.OPPOSITE_COMPARATOR);
+        for (int index : matches) {
+            offer(best, limit, rank(index, q), ids[index].length(), index);
+        }
+        long[] queryTrigrams = trigramsOf(q);
+        if (best.size() < limit && queryTrigrams.length > 0) {
+            addFuzzy(best, limit, q, queryTrigrams);
+        }
+        return drain(best);
+    }
+
+    /**
+     * Query dalam bentuk yang dipakai untuk rank (trim + lowercase)
+     */
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int[] filter(int[] source, int count, String q) {
+        int[] out = new int[count];
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            int index = source != null ? source[i] : i;
+            if (rank(index, q) >= 0) {
+                out[matched++] = index;
+            }
+        }
+        return matched == out.length ? out : Arrays.copyOf(out, matched);
+    }
+
+    /**
+     * Rank option ini untuk query, -1 kalau tidak cocok (tanpa fuzzy)
+     */
+    int rank(int index, String q) {
+        String id = lowerIds[index];
+        String path = lowerPaths[index];
+        String name = lowerNames[index];
+
+        if (path.equals(q) || name.equals(q) || id.equals(q)) {
+            return RANK_EXACT;
+        }
+        if (path.startsWith(q) || name.startsWith(q) || id.startsWith(q)) {
+            return RANK_PREFIX;
+        }
+        if (hasTokenPrefix(path, q) || hasTokenPrefix(name, q)) {
+            return RANK_TOKEN_PREFIX;
+        }
+        if (id.contains(q) || name.contains(q)) {
+            return RANK_SUBSTRING;
+        }
+        return -1;
+    }
+
+    /**
+     * Option yang memiliki minimal setengah trigram query tapi belum cocok sebagai substring
+     */
+    private void addFuzzy(LongHeapPriorityQueue best, int limit, String q, long[] queryTrigrams) {
+        int required = Math.max(1, (queryTrigrams.length + 1) / 2);
+        int[] hits = new int[ids.length];
+        IntArrayList touched = new IntArrayList();
+        for (long trigram : queryTrigrams) {
+            int[] docs = postings.get(trigram);
+            if (docs == null) {
+                continue;
+            }
+            for (int doc : docs) {
+                if (hits[doc]++ == 0) {
+                    touched.add(doc);
+                }
+            }
+        }
+
+        for (int i = 0; i < touched.size(); i++) {
+            int doc = touched.getInt(i);
+            if (hits[doc] >= required && rank(doc, q) < 0) {
+                // Makin banyak trigram yang sama, makin baik
+                offer(best, limit, RANK_FUZZY, queryTrigrams.length - hits[doc], doc);
+            }
+        }
+    }
+
+    /**
+     * Irisan posting list semua trigram query, mulai dari yang paling pendek
+     */
+    private int[] intersect(long[] queryTrigrams) {
+        int[][] lists = new int[queryTrigrams.length][];
+        for (int i = 0; i < queryTrigrams.length; i++) {
+            lists[i] = postings.get(queryTrigrams[i]);
+            if (lists[i] == null) {
+                return NO_RESULTS;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int j = 0;
+        for (int value : a) {
+            while (j < b.length && b[j] < value) {
+                j++;
+            }
+            if (j == b.length) {
+                break;
+            }
+            if (b[j] == value) {
+                out[count++] = value;
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    private static void offer(LongHeapPriorityQueue best, int limit, int rank, int secondary, int index) {
+        if (rank < 0) {
+            return;
+        }
+        // [rank (8 bit) | secondary (24 bit) | index (32 bit)], makin kecil makin baik
+        long key = ((long) rank << 56) | ((long) Math.min(secondary, 0xFFFFFF) << 32) | index;
+        if (best.size() < limit) {
+            best.enqueue(key);
+        } else if (key < best.firstLong()) {
+            best.dequeueLong();
+            best.enqueue(key);
+        }
+    }
+
+    private static int[] drain(LongHeapPriorityQueue best) {
+        int[] result = new int[best.size()];
+        // Heap mengeluarkan key terburuk dulu
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = (int) best.dequeueLong();
+        }
+        return result;
+    }
+
+    private static boolean hasTokenPrefix(String text, String q) {
+        for (int i = 1; i < text.length(); i++) {
+            char previous = text.charAt(i - 1);
+            if ((previous == '_' || previous == ' ' || previous == ':' || previous == '/')
+                    && text.startsWith(q, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] trigramsOf(String text) {
+        LongOpenHashSet trigrams = new LongOpenHashSet();
+        addTrigrams(text, trigrams);
+        return trigrams.toLongArray();
+    }
+
+    private static void addTrigrams(String text, LongOpenHashSet target) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            target.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+}